@@ -0,0 +1,97 @@
+package com.vacanza.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Authentication tuning (application.yaml -> auth.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "auth")
+public class AuthProperties {
+
+    private TokenCache tokenCache = new TokenCache();
+    private IdentityCache identityCache = new IdentityCache();
+    private LoginHistory loginHistory = new LoginHistory();
+
+    @Getter
+    @Setter
+    public static class TokenCache {
+
+        /**
+         * Verified Firebase ID tokens are reused until their exp instead of being verified per request.
+         */
+        private boolean enabled = true;
+
+        private long maxEntries = 50_000;
+
+        /**
+         * Upper bound on how long a verified token is reused (Firebase ID tokens live 1h).
+         */
+        private Duration maxTtl = Duration.ofHours(1);
+    }
+
+    @Getter
+    @Setter
+    public static class IdentityCache {
+
+        /**
+         * firebaseUid -> (userId, role) kept in memory instead of a users lookup per request.
+         */
+        private boolean enabled = true;
+
+        private long maxEntries = 50_000;
+
+        /**
+         * JPA updates evict immediately; this bounds staleness for changes made outside the application.
+         */
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class LoginHistory {
+
+        /**
+         * login_history rows are queued and written in JDBC batches off the request thread.
+         * false: written in the request, one insert per /auth/me.
+         */
+        private boolean async = true;
+
+        private int queueCapacity = 10_000;
+
+        private int batchSize = 500;
+
+        /**
+         * Delay between flushes (read by @Scheduled through the same property).
+         */
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        /**
+         * What /auth/me does when the queue is full.
+         */
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+        /**
+         * Logins of the same user+IP less than this apart form one session: one row (login_time = first),
+         * whose last_seen_at / login_count are updated once when the session ends. 0 = a row per login.
+         */
+        private Duration coalesceWindow = Duration.ofMinutes(30);
+
+        /**
+         * Open sessions tracked in memory; the least recently seen are closed early beyond this.
+         */
+        private long maxSessions = 100_000;
+    }
+
+    public enum OverflowPolicy {
+        // lose the row, count it in auth.logins.rows{result=dropped}
+        DROP,
+        // write the row in the request thread (back-pressure on /auth/me)
+        CALLER_RUNS
+    }
+}
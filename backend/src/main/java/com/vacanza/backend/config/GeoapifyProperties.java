@@ -16,5 +16,9 @@ public class GeoapifyProperties {
      */
     private String apiKey;
 
+    /**
+     * Global budget for outbound Geoapify calls (user ingest, planned tiles, prefetch).
+     */
+    private double requestsPerSecond = 10.0;
 
 }
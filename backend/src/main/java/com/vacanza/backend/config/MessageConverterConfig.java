@@ -0,0 +1,39 @@
+package com.vacanza.backend.config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.vacanza.backend.controller.PoiAreaBinaryMessageConverter;
+import com.vacanza.backend.controller.PoiSummaryFieldFilter;
+import com.vacanza.backend.dto.response.PoiSearchInAreaResponseDTO;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Extra response formats, chosen by the Accept header.
+ * Appended after Jackson, so JSON stays the default (no Accept header, wildcard or application/json).
+ * Also registers the Jackson filter behind the JSON "fields" subset.
+ */
+@Configuration
+public class MessageConverterConfig {
+
+    @Bean
+    public WebMvcConfigurer binaryConvertersConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                converters.add(new PoiAreaBinaryMessageConverter());
+            }
+        };
+    }
+
+    // JSON field subset ("fields" in search-in-area); without it every field is written
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer poiFieldFilterCustomizer() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+                .addFilter(PoiSearchInAreaResponseDTO.PoiSummaryDTO.FIELD_FILTER, new PoiSummaryFieldFilter()));
+    }
+}
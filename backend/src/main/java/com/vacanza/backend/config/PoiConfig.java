@@ -0,0 +1,42 @@
+package com.vacanza.backend.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+@EnableConfigurationProperties(PoiProperties.class)
+@EnableScheduling
+public class PoiConfig {
+
+    public static final String PREFETCH_SCHEDULER = "poiPrefetchScheduler";
+    public static final String INDEX_SCHEDULER = "poiIndexScheduler";
+
+    // default scheduler for @Scheduled (spring.task.scheduling.*); declared here because the
+    // POI schedulers below would otherwise make Boot back off from creating it
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    // prefetch runs block on Geoapify for minutes; keep them off the shared scheduler thread
+    @Bean(name = PREFETCH_SCHEDULER)
+    public ThreadPoolTaskScheduler poiPrefetchScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("poi-prefetch-");
+        return scheduler;
+    }
+
+    // full reloads of the in-memory index read the whole table
+    @Bean(name = INDEX_SCHEDULER)
+    public ThreadPoolTaskScheduler poiIndexScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("poi-index-");
+        return scheduler;
+    }
+}
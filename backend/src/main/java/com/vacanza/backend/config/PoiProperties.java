@@ -0,0 +1,268 @@
+package com.vacanza.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * POI search / ingest tuning (application.yaml -> poi.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "poi")
+public class PoiProperties {
+
+    private Index index = new Index();
+    private Search search = new Search();
+    private Cache cache = new Cache();
+    private Ingest ingest = new Ingest();
+    private Prefetch prefetch = new Prefetch();
+    private Coverage coverage = new Coverage();
+    private Cluster cluster = new Cluster();
+    private Tiles tiles = new Tiles();
+    private Nearby nearby = new Nearby();
+    private Counts counts = new Counts();
+
+    public enum SpatialBackend {
+        /** latitude/longitude BETWEEN on the idx_poi_location B-tree (default) */
+        BETWEEN,
+        /** geom column + GiST index, needs sql/create_postgis.sql applied */
+        POSTGIS
+    }
+
+    @Getter
+    @Setter
+    public static class Index {
+
+        /**
+         * In-memory grid index for search-in-area. Off by default, DB queries are used then.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Grid cell edge in degrees (0.01 ~ 1.1 km latitude).
+         */
+        private double cellSizeDegrees = 0.01;
+
+        /**
+         * Full rebuild from points_of_interest (read by @Scheduled through the same property);
+         * between rebuilds only this instance's ingests are seen.
+         */
+        private Duration refreshInterval = Duration.ofMinutes(15);
+    }
+
+    @Getter
+    @Setter
+    public static class Search {
+
+        /**
+         * Which DB query path search-in-area uses when the in-memory index is off.
+         */
+        private SpatialBackend backend = SpatialBackend.BETWEEN;
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+
+        /**
+         * Candidate cache for BBOX search-in-area requests (opt-in). When on, the whole snapped bbox is
+         * loaded and paged in memory, so heap and latency follow the area size instead of the page size;
+         * off keeps the SQL count + ORDER BY/LIMIT path (tile counts, PostGIS backend).
+         */
+        private boolean enabled = false;
+
+        /**
+         * Total cached POI rows over all entries (the cache is weighed by entry size).
+         */
+        private long maxPois = 200_000;
+
+        private Duration ttl = Duration.ofMinutes(5);
+
+        /**
+         * Viewports are snapped outwards to this grid (0.005 ~ 550 m) before lookup.
+         */
+        private double tileSizeDegrees = 0.005;
+    }
+
+    @Getter
+    @Setter
+    public static class Ingest {
+
+        /**
+         * Max Geoapify category requests in flight per ingest.
+         */
+        private int concurrency = 4;
+
+        /**
+         * Large rects are split into parts of about this size, at most max-parts per ingest.
+         */
+        private double partSizeDegrees = 0.02;
+
+        private int maxParts = 4;
+
+        /**
+         * Geoapify pages (offset paging) per part x category; the next page is only fetched when one is full.
+         */
+        private int maxPages = 2;
+    }
+
+    @Getter
+    @Setter
+    public static class Coverage {
+
+        /**
+         * Ingest from poi_ingest_coverage (tile x category x fetched_at) instead of "area is empty".
+         */
+        private boolean enabled = true;
+
+        /**
+         * Coverage grid (0.02 ~ 2.2 km latitude). Truncate poi_ingest_coverage after changing it.
+         */
+        private double tileSizeDegrees = 0.02;
+
+        /**
+         * Fetched tiles are fetched again after this long.
+         */
+        private Duration ttl = Duration.ofDays(7);
+
+        /**
+         * Tiles whose fetch was cut off at the page limit (dense areas) are fetched again after this long.
+         * Keep it shorter than ttl; no shorter than a few minutes, each refetch is a synchronous Geoapify call.
+         */
+        private Duration truncatedTtl = Duration.ofDays(1);
+
+        /**
+         * Viewports spanning more tiles than this are not tracked (fall back to "area is empty").
+         */
+        private int maxTiles = 64;
+    }
+
+    @Getter
+    @Setter
+    public static class Cluster {
+
+        /**
+         * cluster=true requests at this zoom or closer get single points.
+         */
+        private int maxZoom = 15;
+
+        /**
+         * Bucket edge in screen pixels when the cell size is derived from zoom.
+         */
+        private int cellPixels = 60;
+
+        /**
+         * Upper bound on buckets per response; the cell grows until the area fits.
+         */
+        private int maxCells = 2048;
+    }
+
+    @Getter
+    @Setter
+    public static class Tiles {
+
+        /**
+         * Below this zoom tiles are empty (whole countries of points are not useful).
+         */
+        private int minZoom = 6;
+
+        /**
+         * From this zoom on tiles carry every POI (up to max-features-full-detail), no thinning.
+         */
+        private int fullDetailZoom = 14;
+
+        /**
+         * Below full-detail-zoom: top-rated POIs per tile, at least min-spacing-pixels apart.
+         */
+        private int maxFeatures = 200;
+
+        private int minSpacingPixels = 8;
+
+        private int maxFeaturesFullDetail = 4096;
+
+        private long cacheMaxEntries = 5_000;
+
+        private Duration cacheTtl = Duration.ofMinutes(10);
+
+        /**
+         * Cache-Control max-age for clients / CDNs (revalidated with the ETag afterwards).
+         */
+        private Duration httpMaxAge = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Counts {
+
+        /**
+         * In-memory tile x category counts for countsByCategory (single instance, like the index).
+         * Off by default, counts are grouped in the DB then.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Count tile edge in degrees; only tiles fully inside the viewport come from memory.
+         */
+        private double tileSizeDegrees = 0.01;
+    }
+
+    @Getter
+    @Setter
+    public static class Nearby {
+
+        /**
+         * First search ring for /pois/nearby; the radius doubles until limit POIs are found.
+         */
+        private double initialRadiusMeters = 500;
+
+        /**
+         * Largest ring (and upper bound for an explicit radiusMeters).
+         */
+        private double maxRadiusMeters = 50_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Prefetch {
+
+        /**
+         * Scheduled warm-up ingest of configured regions + most requested tiles.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Delay between runs (read by @Scheduled through the same property).
+         */
+        private Duration interval = Duration.ofMinutes(30);
+
+        private Duration initialDelay = Duration.ofMinutes(1);
+
+        private List<Region> regions = new ArrayList<>();
+
+        /**
+         * Most requested tiles (since the previous run) added to each run.
+         */
+        private int topTiles = 20;
+
+        private int maxTilesPerRun = 100;
+
+        private List<String> categories = List.of("restaurant", "cafe", "museum", "monuments", "parks");
+
+        private int limit = 20;
+    }
+
+    @Getter
+    @Setter
+    public static class Region {
+        private String name;
+        private double minLat;
+        private double minLng;
+        private double maxLat;
+        private double maxLng;
+    }
+}
@@ -0,0 +1,203 @@
+package com.vacanza.backend.controller;
+
+import com.vacanza.backend.dto.response.PoiSearchInAreaResponseDTO;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compact binary form of PoiSearchInAreaResponseDTO, sent for Accept: application/vnd.vacanza.poi-area-v1
+ * (JSON stays the default). Write-only.
+ *
+ * All integers are unsigned LEB128 varints; "zz" = zigzag varint; "str" = varint (utf8 length + 1)
+ * then utf8 bytes, 0 = null.
+ *
+ * <pre>
+ * byte    version (1)
+ * varint  count
+ * str     nextCursor
+ * varint  k, k x str                      category dictionary
+ * varint  m, m x (varint cat, varint n)   countsByCategory
+ * varint  rows, varint poiCount           rows = pois, then cluster representatives
+ * rows x 16 bytes                         poiId (msb, lsb big-endian)
+ * rows x varint                           category (dictionary index + 1, 0 = null)
+ * rows x zz                               latitude  as 1e-6 degrees, delta to previous row
+ * rows x zz                               longitude as 1e-6 degrees, delta to previous row
+ * rows x varint                           rating (0 = null, else round(rating * 100) + 1)
+ * rows x str                              name, then rows x str priceLevel, then rows x str externalId
+ * varint  c + 1 (0 = no clusters)
+ * c x zz lat, c x zz lng                  centroids, same encoding as rows
+ * c x varint                              count
+ * c x (varint m, m x (varint cat, varint n))
+ * c x varint                              representative row + 1 (0 = none)
+ * </pre>
+ */
+public class PoiAreaBinaryMessageConverter extends AbstractHttpMessageConverter<PoiSearchInAreaResponseDTO> {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.vacanza.poi-area-v1";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private static final int VERSION = 1;
+    private static final double COORD_SCALE = 1e6;
+    private static final double RATING_SCALE = 100;
+
+    public PoiAreaBinaryMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PoiSearchInAreaResponseDTO.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected PoiSearchInAreaResponseDTO readInternal(
+            Class<? extends PoiSearchInAreaResponseDTO> clazz,
+            HttpInputMessage inputMessage
+    ) {
+        throw new HttpMessageNotReadableException(MEDIA_TYPE_VALUE + " is response-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(PoiSearchInAreaResponseDTO dto, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(encode(dto));
+    }
+
+    static byte[] encode(PoiSearchInAreaResponseDTO dto) {
+        Out out = new Out();
+
+        List<PoiSearchInAreaResponseDTO.PoiSummaryDTO> pois = dto.getPois() != null ? dto.getPois() : List.of();
+        List<PoiSearchInAreaResponseDTO.PoiClusterDTO> clusters = dto.getClusters();
+
+        // rows: pois followed by cluster representatives
+        List<PoiSearchInAreaResponseDTO.PoiSummaryDTO> rows = new ArrayList<>(pois);
+        List<Integer> representativeRows = new ArrayList<>();
+        if (clusters != null) {
+            for (var c : clusters) {
+                if (c.getRepresentative() == null) {
+                    representativeRows.add(0);
+                } else {
+                    rows.add(c.getRepresentative());
+                    representativeRows.add(rows.size());
+                }
+            }
+        }
+
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        rows.forEach(p -> {
+            if (p.getCategory() != null) dictionary.putIfAbsent(p.getCategory(), dictionary.size());
+        });
+        if (dto.getCountsByCategory() != null) {
+            dto.getCountsByCategory().keySet().forEach(c -> dictionary.putIfAbsent(c, dictionary.size()));
+        }
+        if (clusters != null) {
+            clusters.forEach(cl -> {
+                if (cl.getCountsByCategory() != null) {
+                    cl.getCountsByCategory().keySet().forEach(c -> dictionary.putIfAbsent(c, dictionary.size()));
+                }
+            });
+        }
+
+        out.write(VERSION);
+        out.varint(dto.getCount());
+        out.string(dto.getNextCursor());
+
+        out.varint(dictionary.size());
+        dictionary.keySet().forEach(out::string);
+        out.categoryCounts(dto.getCountsByCategory(), dictionary);
+
+        out.varint(rows.size());
+        out.varint(pois.size());
+        for (var p : rows) out.uuid(p.getPoiId());
+        for (var p : rows) out.varint(p.getCategory() != null ? dictionary.get(p.getCategory()) + 1 : 0);
+        out.deltas(rows.stream().map(PoiSearchInAreaResponseDTO.PoiSummaryDTO::getLatitude).toList());
+        out.deltas(rows.stream().map(PoiSearchInAreaResponseDTO.PoiSummaryDTO::getLongitude).toList());
+        for (var p : rows) out.varint(p.getRating() != null ? Math.round(p.getRating() * RATING_SCALE) + 1 : 0);
+        for (var p : rows) out.string(p.getName());
+        for (var p : rows) out.string(p.getPriceLevel());
+        for (var p : rows) out.string(p.getExternalId());
+
+        if (clusters == null) {
+            out.varint(0);
+        } else {
+            out.varint(clusters.size() + 1);
+            out.deltas(clusters.stream().map(c -> (Double) c.getLatitude()).toList());
+            out.deltas(clusters.stream().map(c -> (Double) c.getLongitude()).toList());
+            for (var c : clusters) out.varint(c.getCount());
+            for (var c : clusters) out.categoryCounts(c.getCountsByCategory(), dictionary);
+            for (int r : representativeRows) out.varint(r);
+        }
+
+        return out.toByteArray();
+    }
+
+    private static final class Out extends ByteArrayOutputStream {
+
+        void varint(long value) {
+            while ((value & ~0x7fL) != 0) {
+                write((int) ((value & 0x7f) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void zigzag(long value) {
+            varint((value << 1) ^ (value >> 63));
+        }
+
+        void string(String s) {
+            if (s == null) {
+                varint(0);
+                return;
+            }
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length + 1L);
+            writeBytes(bytes);
+        }
+
+        void uuid(UUID id) {
+            long msb = id != null ? id.getMostSignificantBits() : 0;
+            long lsb = id != null ? id.getLeastSignificantBits() : 0;
+            for (int i = 7; i >= 0; i--) write((int) (msb >>> (8 * i)) & 0xff);
+            for (int i = 7; i >= 0; i--) write((int) (lsb >>> (8 * i)) & 0xff);
+        }
+
+        // fixed-point 1e-6 degrees, each value as the difference to the previous one
+        void deltas(List<Double> coords) {
+            long previous = 0;
+            for (Double c : coords) {
+                long fixed = c != null ? Math.round(c * COORD_SCALE) : 0;
+                zigzag(fixed - previous);
+                previous = fixed;
+            }
+        }
+
+        void categoryCounts(Map<String, Integer> counts, Map<String, Integer> dictionary) {
+            if (counts == null) {
+                varint(0);
+                return;
+            }
+            varint(counts.size());
+            counts.forEach((category, n) -> {
+                varint(dictionary.get(category));
+                varint(n);
+            });
+        }
+    }
+}
@@ -1,22 +1,91 @@
 package com.vacanza.backend.controller;
 
+import com.vacanza.backend.config.PoiProperties;
+import com.vacanza.backend.dto.request.PoiNameSearchRequestDTO;
+import com.vacanza.backend.dto.request.PoiNearbyRequestDTO;
 import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO;
+import com.vacanza.backend.dto.response.PoiNameSearchResponseDTO;
+import com.vacanza.backend.dto.response.PoiNearbyResponseDTO;
 import com.vacanza.backend.dto.response.PoiSearchInAreaResponseDTO;
+import com.vacanza.backend.service.PoiExportService;
+import com.vacanza.backend.service.PoiNameSearchService;
+import com.vacanza.backend.service.PoiNearbyService;
 import com.vacanza.backend.service.PoiSearchService;
+import com.vacanza.backend.service.PoiTileService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/pois")
 @RequiredArgsConstructor
 public class PoiController {
 
+    private static final String MVT = "application/vnd.mapbox-vector-tile";
+
     private final PoiSearchService poiSearchService;
+    private final PoiTileService poiTileService;
+    private final PoiExportService poiExportService;
+    private final PoiNearbyService poiNearbyService;
+    private final PoiNameSearchService poiNameSearchService;
+    private final PoiProperties properties;
 
     @PostMapping("/search-in-area")
-    public ResponseEntity<PoiSearchInAreaResponseDTO> searchInArea(@RequestBody PoiSearchInAreaRequestDTO req) {
-        return new ResponseEntity<>(poiSearchService.searchInArea(req), HttpStatus.OK);
+    public ResponseEntity<PoiSearchInAreaResponseDTO> searchInArea(
+            @RequestBody PoiSearchInAreaRequestDTO req,
+            HttpServletRequest httpRequest
+    ) {
+        PoiSearchInAreaResponseDTO response = poiSearchService.searchInArea(req);
+
+        // validated by the service; applied only when the response is written as JSON
+        if (req.getFields() != null && !req.getFields().isEmpty()) {
+            httpRequest.setAttribute(PoiSummaryFieldFilter.REQUEST_ATTRIBUTE, Set.copyOf(req.getFields()));
+        }
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    // name search / typeahead, optionally inside minLat..maxLng
+    @GetMapping("/search")
+    public ResponseEntity<PoiNameSearchResponseDTO> search(@ModelAttribute PoiNameSearchRequestDTO req) {
+        return new ResponseEntity<>(poiNameSearchService.search(req), HttpStatus.OK);
+    }
+
+    // nearest N (optionally within radiusMeters) around lat/lng, nearest first
+    @GetMapping("/nearby")
+    public ResponseEntity<PoiNearbyResponseDTO> nearby(@ModelAttribute PoiNearbyRequestDTO req) {
+        return new ResponseEntity<>(poiNearbyService.nearby(req), HttpStatus.OK);
+    }
+
+    // bulk export of a whole area, one JSON object per line, streamed (same body as search-in-area)
+    @PostMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(@RequestBody PoiSearchInAreaRequestDTO req) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(poiExportService.export(req));
+    }
+
+    // map tile layers; If-None-Match with the ETag -> 304
+    @GetMapping(value = "/tiles/{z}/{x}/{y}.mvt", produces = MVT)
+    public ResponseEntity<byte[]> tile(
+            @PathVariable int z,
+            @PathVariable int x,
+            @PathVariable int y,
+            @RequestParam(required = false) List<String> categories
+    ) {
+        PoiTileService.EncodedTile tile = poiTileService.tile(z, x, y, categories);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(MVT))
+                .eTag(tile.etag())
+                .cacheControl(CacheControl.maxAge(properties.getTiles().getHttpMaxAge()).cachePublic())
+                .body(tile.body());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,41 @@
+package com.vacanza.backend.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Set;
+
+/**
+ * Jackson filter for PoiSummaryDTO: writes only the fields the client asked for.
+ *
+ * The controller stores the requested names as a request attribute; no attribute (or no request,
+ * e.g. serialization outside MVC) means all fields. poiId is always written.
+ */
+public class PoiSummaryFieldFilter extends SimpleBeanPropertyFilter {
+
+    public static final String REQUEST_ATTRIBUTE = PoiSummaryFieldFilter.class.getName() + ".fields";
+
+    @Override
+    public void serializeAsField(Object pojo, JsonGenerator gen, SerializerProvider provider, PropertyWriter writer)
+            throws Exception {
+        if (include(writer.getName())) {
+            writer.serializeAsField(pojo, gen, provider);
+        } else if (!gen.canOmitFields()) {
+            writer.serializeAsOmittedField(pojo, gen, provider);
+        }
+    }
+
+    private static boolean include(String field) {
+        if ("poiId".equals(field)) return true;
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) return true;
+
+        Object fields = attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return !(fields instanceof Set<?> requested) || requested.contains(field);
+    }
+}
@@ -0,0 +1,28 @@
+package com.vacanza.backend.dto.request;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PoiNameSearchRequestDTO {
+
+    // aranan metin (zorunlu): typeahead prefix veya birden fazla kelime
+    // max 100 karakter, max 5 kelime (fazlasi 422 QUERY_TOO_MANY_TERMS)
+    private String q;
+
+    // optional: default 10, max 50
+    private Integer limit;
+
+    // optional: kategori filtresi (null/empty => filtre yok)
+    private List<String> categories;
+
+    // optional bbox: hepsi dolu ya da hepsi boş
+    private Double minLat;
+    private Double minLng;
+    private Double maxLat;
+    private Double maxLng;
+}
@@ -0,0 +1,25 @@
+package com.vacanza.backend.dto.request;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PoiNearbyRequestDTO {
+
+    // merkez nokta (zorunlu)
+    private Double lat;
+    private Double lng;
+
+    // optional: only POIs within this distance (null => nearest N up to poi.nearby.max-radius-meters)
+    private Double radiusMeters;
+
+    // optional: N (default 20, max 200)
+    private Integer limit;
+
+    // optional: kategori filtresi (null/empty => filtre yok)
+    private List<String> categories;
+}
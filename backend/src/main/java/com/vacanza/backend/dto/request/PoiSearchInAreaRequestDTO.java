@@ -28,9 +28,20 @@ public class PoiSearchInAreaRequestDTO {
     private Integer page;   // default 0
     private Integer limit;  // default 200, max 500
 
+    // optional keyset pagination: nextCursor of the previous response (page is ignored then)
+    private String cursor;
+
     // optional sort
     private SortType sort;
 
+    // optional server-side clustering (zoomed-out maps): grid buckets instead of single points
+    private Boolean cluster;
+    private Integer zoom;               // map zoom 0-22; from poi.cluster.max-zoom on, points are returned
+    private Double clusterCellDegrees;  // optional explicit bucket size, overrides zoom
+
+    // optional JSON field subset for pois / representatives (null/empty => all fields, poiId always included)
+    private List<String> fields;
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -0,0 +1,15 @@
+package com.vacanza.backend.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PoiNameSearchResponseDTO {
+
+    private int count; // dönen sonuç sayısı (<= limit)
+    private List<PoiSearchInAreaResponseDTO.PoiSummaryDTO> pois; // en iyi eşleşme önce
+}
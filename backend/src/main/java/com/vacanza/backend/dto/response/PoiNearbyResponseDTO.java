@@ -0,0 +1,25 @@
+package com.vacanza.backend.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PoiNearbyResponseDTO {
+
+    private int count; // dönen sonuç sayısı (<= limit)
+    private double radiusMeters; // aranan son halka yarıçapı
+    private List<NearbyPoiDTO> pois; // en yakından uzağa
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class NearbyPoiDTO {
+        private PoiSearchInAreaResponseDTO.PoiSummaryDTO poi;
+        private double distanceMeters; // haversine
+    }
+}
@@ -1,5 +1,6 @@
 package com.vacanza.backend.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.*;
 
 import java.util.List;
@@ -15,12 +16,21 @@ public class PoiSearchInAreaResponseDTO {
     private int count; // filtre sonrası toplam
     private List<PoiSummaryDTO> pois;
     private Map<String, Integer> countsByCategory; // UI filter panel için opsiyonel
+    private String nextCursor; // sonraki sayfa için cursor, son sayfada null
+    private List<PoiClusterDTO> clusters; // cluster modunda dolu, pois boş
 
     @Data
     @Builder
     @NoArgsConstructor
     @AllArgsConstructor
+    @JsonFilter(PoiSummaryDTO.FIELD_FILTER) // request "fields" subset, see PoiSummaryFieldFilter
     public static class PoiSummaryDTO {
+
+        public static final String FIELD_FILTER = "poiSummaryFields";
+        public static final List<String> FIELDS = List.of(
+                "poiId", "name", "category", "latitude", "longitude", "rating", "priceLevel", "externalId"
+        );
+
         private UUID poiId;
         private String name;
         private String category;
@@ -30,4 +40,16 @@ public class PoiSearchInAreaResponseDTO {
         private String priceLevel;
         private String externalId;
     }
-}
\ No newline at end of file
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PoiClusterDTO {
+        private double latitude;  // centroid
+        private double longitude;
+        private int count;
+        private Map<String, Integer> countsByCategory;
+        private PoiSummaryDTO representative; // bucket'taki en yüksek rating'li poi
+    }
+}
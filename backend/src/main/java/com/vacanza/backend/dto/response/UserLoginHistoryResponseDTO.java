@@ -17,4 +17,6 @@ public class UserLoginHistoryResponseDTO {
     private String loginProvider;
     private Instant loginTime;
     private String ipAddress;
+    private Instant lastSeenAt;
+    private Integer loginCount;
 }
\ No newline at end of file
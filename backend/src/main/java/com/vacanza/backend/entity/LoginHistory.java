@@ -37,6 +37,13 @@ public class LoginHistory {
     @Column(name = "ip_address", length = 45)
     private String ipAddress;
 
+    // ayni user+IP oturumu: son /auth/me zamani ve kac login'i kapsadigi (LoginHistoryWriter coalescing)
+    @Column(name = "last_seen_at")
+    private Instant lastSeenAt;
+
+    @Column(name = "login_count")
+    private Integer loginCount;
+
     //backende token ile erisim basarili oldu logu
     @PrePersist
     protected void onCreate() {
@@ -0,0 +1,51 @@
+package com.vacanza.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Which tile (poi.coverage.tile-size-degrees grid) x category was fetched from Geoapify, and when.
+ * Ingest decisions are made from this table, not from "area has no rows".
+ */
+@Entity
+@Table(name = "poi_ingest_coverage")
+@IdClass(PoiIngestCoverage.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PoiIngestCoverage {
+
+    @Id
+    @Column(name = "tile_row", nullable = false)
+    private Integer tileRow;
+
+    @Id
+    @Column(name = "tile_col", nullable = false)
+    private Integer tileCol;
+
+    // frontend category (cafe, museum, ...)
+    @Id
+    @Column(name = "category", nullable = false, length = 50)
+    private String category;
+
+    @Column(name = "fetched_at", nullable = false)
+    private Instant fetchedAt;
+
+    // the fetch hit the page limit: tile holds more than was fetched, goes stale after truncated-ttl
+    @Column(name = "truncated", nullable = false, columnDefinition = "boolean default false")
+    private boolean truncated;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Integer tileRow;
+        private Integer tileCol;
+        private String category;
+    }
+}
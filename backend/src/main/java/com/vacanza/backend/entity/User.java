@@ -2,6 +2,7 @@ package com.vacanza.backend.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.vacanza.backend.entity.enums.Role;
+import com.vacanza.backend.security.UserChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.UuidGenerator;
@@ -24,7 +25,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-
+@EntityListeners(UserChangeListener.class) // identity cache eviction on role/email change or delete
 public class User {
 
     @Id
@@ -0,0 +1,12 @@
+package com.vacanza.backend.event;
+
+import com.vacanza.backend.entity.PointOfInterest;
+
+import java.util.List;
+
+/**
+ * Published by PoiIngestService after new POIs are saved.
+ * Listeners (in-memory index etc.) react after the ingest transaction commits.
+ */
+public record PoisIngestedEvent(List<PointOfInterest> pois) {
+}
@@ -0,0 +1,8 @@
+package com.vacanza.backend.event;
+
+/**
+ * Published (from UserChangeListener) when a users row is updated or deleted.
+ * UserIdentityCache drops the uid after the transaction commits.
+ */
+public record UserChangedEvent(String firebaseUid) {
+}
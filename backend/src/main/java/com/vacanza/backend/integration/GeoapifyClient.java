@@ -19,13 +19,25 @@ public class GeoapifyClient {
     @Value("${GEOAPIFY_API_KEY}")
     private String apiKey = ""; // 🔥 ZORUNLU
 
+    private final GeoapifyRateLimiter rateLimiter;
+
     public Mono<GeoapifyResponse> search(
             String filter,
             List<String> categories,
             int limit
+    ) {
+        return search(filter, categories, limit, 0);
+    }
+
+    // offset: Geoapify paging (next page = offset + limit)
+    public Mono<GeoapifyResponse> search(
+            String filter,
+            List<String> categories,
+            int limit,
+            int offset
     ) {
         System.out.println("🔥 GEOAPIFY API KEY = [" + apiKey + "]");
-        return webClient.get()
+        return rateLimiter.acquire().then(webClient.get()
                 .uri(uriBuilder -> {
                     uriBuilder.path("/places");
 
@@ -34,6 +46,9 @@ public class GeoapifyClient {
 
                     // 🔥 LIMIT
                     uriBuilder.queryParam("limit", limit);
+                    if (offset > 0) {
+                        uriBuilder.queryParam("offset", offset);
+                    }
 
                     // 🔥 CATEGORIES (ASLA BOŞ DEĞİL)
                     List<String> safeCategories =
@@ -52,6 +67,6 @@ public class GeoapifyClient {
                     return uriBuilder.build();
                 })
                 .retrieve()
-                .bodyToMono(GeoapifyResponse.class);
+                .bodyToMono(GeoapifyResponse.class));
     }
 }
@@ -0,0 +1,34 @@
+package com.vacanza.backend.integration;
+
+import com.vacanza.backend.config.GeoapifyProperties;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide pacing for Geoapify calls (geoapify.requests-per-second).
+ *
+ * Each call reserves the next free slot and is delayed until then, without blocking a thread.
+ */
+@Component
+public class GeoapifyRateLimiter {
+
+    private final long intervalNanos;
+    private final AtomicLong nextFreeSlot = new AtomicLong(System.nanoTime());
+
+    public GeoapifyRateLimiter(GeoapifyProperties props) {
+        this.intervalNanos = (long) (1_000_000_000L / Math.max(0.01, props.getRequestsPerSecond()));
+    }
+
+    public Mono<Void> acquire() {
+        return Mono.defer(() -> {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextFreeSlot.getAndAccumulate(now, (next, n) -> Math.max(next, n) + intervalNanos));
+            long wait = slot - now;
+
+            return wait <= 0 ? Mono.empty() : Mono.delay(Duration.ofNanos(wait)).then();
+        });
+    }
+}
@@ -0,0 +1,78 @@
+package com.vacanza.backend.repo;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Batched writes into login_history for LoginHistoryWriter (one JDBC batch instead of a save() per login).
+ */
+@Repository
+@RequiredArgsConstructor
+public class LoginHistoryBatchRepository {
+
+    private static final String INSERT = """
+            insert into login_history
+                (login_id, user_id, login_provider, login_time, ip_address, last_seen_at, login_count)
+            values
+                (:loginId, :userId, :loginProvider, :loginTime, :ipAddress, :loginTime, 1)
+            """;
+
+    private static final String UPDATE_SESSION = """
+            update login_history set last_seen_at = :lastSeenAt, login_count = :loginCount
+            where login_id = :loginId
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * One login_history row (ids assigned by the caller).
+     */
+    public record Login(UUID loginId, UUID userId, String loginProvider, Instant loginTime, String ipAddress) {
+    }
+
+    /**
+     * Final state of a coalesced session, applied to the row inserted for its first login.
+     */
+    public record SessionUpdate(UUID loginId, Instant lastSeenAt, int loginCount) {
+    }
+
+    public void insertAll(List<Login> logins) {
+        if (logins.isEmpty()) return;
+
+        SqlParameterSource[] batch = new SqlParameterSource[logins.size()];
+        for (int i = 0; i < logins.size(); i++) {
+            Login login = logins.get(i);
+            batch[i] = new MapSqlParameterSource()
+                    .addValue("loginId", login.loginId())
+                    .addValue("userId", login.userId())
+                    .addValue("loginProvider", login.loginProvider())
+                    .addValue("loginTime", Timestamp.from(login.loginTime()))
+                    .addValue("ipAddress", login.ipAddress());
+        }
+
+        jdbc.batchUpdate(INSERT, batch);
+    }
+
+    public void updateSessions(List<SessionUpdate> updates) {
+        if (updates.isEmpty()) return;
+
+        SqlParameterSource[] batch = new SqlParameterSource[updates.size()];
+        for (int i = 0; i < updates.size(); i++) {
+            SessionUpdate update = updates.get(i);
+            batch[i] = new MapSqlParameterSource()
+                    .addValue("loginId", update.loginId())
+                    .addValue("lastSeenAt", Timestamp.from(update.lastSeenAt()))
+                    .addValue("loginCount", update.loginCount());
+        }
+
+        jdbc.batchUpdate(UPDATE_SESSION, batch);
+    }
+}
@@ -0,0 +1,106 @@
+package com.vacanza.backend.repo;
+
+import com.vacanza.backend.entity.PointOfInterest;
+import com.vacanza.backend.spatial.GeoTile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Batched writes for the ingest path (points_of_interest, poi_ingest_coverage).
+ *
+ * One JDBC batch of INSERT ... ON CONFLICT DO NOTHING (unique external_id) instead of a
+ * save() per row; rows another ingest inserted concurrently are skipped, not failed.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PoiBatchRepository {
+
+    private static final String INSERT_IGNORE_DUPLICATES = """
+            insert into points_of_interest
+                (poi_id, name, category, latitude, longitude, rating, price_level, external_id)
+            values
+                (:poiId, :name, :category, :latitude, :longitude, :rating, :priceLevel, :externalId)
+            on conflict do nothing
+            """;
+
+    private static final String REFRESH_COVERAGE = """
+            update poi_ingest_coverage set fetched_at = :fetchedAt, truncated = :truncated
+            where tile_row = :tileRow and tile_col = :tileCol and category = :category
+            """;
+
+    private static final String INSERT_COVERAGE = """
+            insert into poi_ingest_coverage (tile_row, tile_col, category, fetched_at, truncated)
+            values (:tileRow, :tileCol, :category, :fetchedAt, :truncated)
+            on conflict do nothing
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Inserts the POIs (ids assigned here) and returns the ones that were actually written.
+     */
+    public List<PointOfInterest> insertIgnoringDuplicates(List<PointOfInterest> pois) {
+        if (pois.isEmpty()) return List.of();
+
+        SqlParameterSource[] batch = new SqlParameterSource[pois.size()];
+        for (int i = 0; i < pois.size(); i++) {
+            PointOfInterest poi = pois.get(i);
+            if (poi.getPoiId() == null) poi.setPoiId(UUID.randomUUID());
+
+            batch[i] = new MapSqlParameterSource()
+                    .addValue("poiId", poi.getPoiId())
+                    .addValue("name", poi.getName())
+                    .addValue("category", poi.getCategory())
+                    .addValue("latitude", poi.getLatitude())
+                    .addValue("longitude", poi.getLongitude())
+                    .addValue("rating", poi.getRating())
+                    .addValue("priceLevel", poi.getPriceLevel())
+                    .addValue("externalId", poi.getExternalId());
+        }
+
+        int[] counts = jdbc.batchUpdate(INSERT_IGNORE_DUPLICATES, batch);
+
+        List<PointOfInterest> inserted = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            // SUCCESS_NO_INFO: driver did not report per-row counts, assume written
+            if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                inserted.add(pois.get(i));
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * Marks every (tile, category) pair as fetched at fetchedAt: refresh existing rows, insert the rest.
+     * truncated: the fetch was cut off at the page limit (see poi.coverage.truncated-ttl).
+     */
+    public void markCoverage(List<GeoTile> tiles, List<String> categories, Instant fetchedAt, boolean truncated) {
+        if (tiles.isEmpty() || categories.isEmpty()) return;
+
+        SqlParameterSource[] batch = new SqlParameterSource[tiles.size() * categories.size()];
+        int i = 0;
+        for (GeoTile tile : tiles) {
+            for (String category : categories) {
+                batch[i++] = new MapSqlParameterSource()
+                        .addValue("tileRow", tile.row())
+                        .addValue("tileCol", tile.col())
+                        .addValue("category", category)
+                        .addValue("fetchedAt", Timestamp.from(fetchedAt))
+                        .addValue("truncated", truncated);
+            }
+        }
+
+        jdbc.batchUpdate(REFRESH_COVERAGE, batch);
+        jdbc.batchUpdate(INSERT_COVERAGE, batch);
+    }
+}
@@ -0,0 +1,190 @@
+package com.vacanza.backend.repo;
+
+import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO;
+import com.vacanza.backend.spatial.GeoTile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.DataClassRowMapper;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grid aggregation over points_of_interest for clustered search-in-area.
+ *
+ * Cells use the GeoTile grid: row = floor((lat + 90) / cell), col = floor((lng + 180) / cell).
+ * The cell is computed in a derived table so GROUP BY / PARTITION BY see plain columns.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PoiClusterRepository {
+
+    // summary columns only (same as PointOfInterestRepository.SELECT_SUMMARY)
+    private static final String COLUMNS = """
+            poi_id, name, category, latitude, longitude, rating, price_level, external_id
+            """;
+
+    private static final String CELLS = """
+            cast(floor((latitude + 90) / :cell) as integer) as cell_row,
+            cast(floor((longitude + 180) / :cell) as integer) as cell_col
+            """;
+
+    // strips are widened by this much so floating point edges never drop a row (the cell test is exact)
+    private static final double EDGE_EPSILON_DEGREES = 1e-9;
+
+    private static final RowMapper<PoiSummary> POI_MAPPER = new DataClassRowMapper<>(PoiSummary.class);
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * One row per (cell, category) in the area.
+     */
+    public record CellCount(GeoTile cell, String category, int count, double sumLat, double sumLng) {
+    }
+
+    public List<CellCount> countByCell(
+            PoiSearchInAreaRequestDTO.Bbox bbox,
+            List<String> categories,
+            double cell
+    ) {
+        MapSqlParameterSource params = new MapSqlParameterSource("cell", cell);
+        String sql = """
+                select cell_row, cell_col, category,
+                       count(*) as poi_count, sum(latitude) as sum_lat, sum(longitude) as sum_lng
+                from (select category, latitude, longitude,
+                """ + CELLS + " from points_of_interest" + areaWhere(bbox, categories, params) + """
+                ) c
+                group by cell_row, cell_col, category
+                """;
+
+        return jdbc.query(sql, params, (rs, i) -> new CellCount(
+                new GeoTile(rs.getInt("cell_row"), rs.getInt("cell_col")),
+                rs.getString("category"),
+                rs.getInt("poi_count"),
+                rs.getDouble("sum_lat"),
+                rs.getDouble("sum_lng")
+        ));
+    }
+
+    /**
+     * Top-rated POI per cell (coalesce(rating, -1) desc, poi_id asc - same order as RATING_DESC).
+     */
+    public Map<GeoTile, PoiSummary> findTopRatedByCell(
+            PoiSearchInAreaRequestDTO.Bbox bbox,
+            List<String> categories,
+            double cell
+    ) {
+        MapSqlParameterSource params = new MapSqlParameterSource("cell", cell);
+        String sql = "select " + COLUMNS + ", cell_row, cell_col from ("
+                + "select " + COLUMNS + ", cell_row, cell_col, row_number() over ("
+                + "partition by cell_row, cell_col order by coalesce(rating, -1) desc, poi_id asc) as rn from ("
+                + "select " + COLUMNS + ", " + CELLS + " from points_of_interest" + areaWhere(bbox, categories, params)
+                + ") c) t where rn = 1";
+
+        Map<GeoTile, PoiSummary> top = new HashMap<>();
+        jdbc.query(sql, params, rs -> {
+            top.put(new GeoTile(rs.getInt("cell_row"), rs.getInt("cell_col")), POI_MAPPER.mapRow(rs, rs.getRow()));
+        });
+        return top;
+    }
+
+    /**
+     * Per-category counts in the bbox outside the cell block innerMin..innerMax (inclusive), i.e. the
+     * partially covered boundary cells around a block of fully covered ones.
+     *
+     * Four disjoint strips (south, north, west, east of the block), each a lat/lng range the location
+     * index can use; the exact cell test uses the same floor() expression as countByCell.
+     */
+    public Map<String, Integer> countByCategoryOutsideCells(
+            PoiSearchInAreaRequestDTO.Bbox bbox,
+            List<String> categories,
+            double cell,
+            GeoTile innerMin,
+            GeoTile innerMax
+    ) {
+        PoiSearchInAreaRequestDTO.Bbox inner = new PoiSearchInAreaRequestDTO.Bbox(
+                innerMin.bbox(cell).getMinLat(), innerMin.bbox(cell).getMinLng(),
+                innerMax.bbox(cell).getMaxLat(), innerMax.bbox(cell).getMaxLng()
+        );
+
+        MapSqlParameterSource params = new MapSqlParameterSource("cell", cell)
+                .addValue("innerRow0", innerMin.row())
+                .addValue("innerRow1", innerMax.row())
+                .addValue("innerCol0", innerMin.col())
+                .addValue("innerCol1", innerMax.col())
+                .addValue("minLat", bbox.getMinLat())
+                .addValue("minLng", bbox.getMinLng())
+                .addValue("maxLat", bbox.getMaxLat())
+                .addValue("maxLng", bbox.getMaxLng())
+                .addValue("categories", categories);
+
+        double eps = EDGE_EPSILON_DEGREES;
+        String sql = "select category, sum(poi_count) as poi_count from ("
+                + strip("s", bbox.getMinLat(), inner.getMinLat() + eps, bbox.getMinLng(), bbox.getMaxLng(),
+                        "cell_row < :innerRow0", categories, params)
+                + " union all "
+                + strip("n", inner.getMaxLat() - eps, bbox.getMaxLat(), bbox.getMinLng(), bbox.getMaxLng(),
+                        "cell_row > :innerRow1", categories, params)
+                + " union all "
+                + strip("w", inner.getMinLat() - eps, inner.getMaxLat() + eps, bbox.getMinLng(), inner.getMinLng() + eps,
+                        "cell_row between :innerRow0 and :innerRow1 and cell_col < :innerCol0", categories, params)
+                + " union all "
+                + strip("e", inner.getMinLat() - eps, inner.getMaxLat() + eps, inner.getMaxLng() - eps, bbox.getMaxLng(),
+                        "cell_row between :innerRow0 and :innerRow1 and cell_col > :innerCol1", categories, params)
+                + ") s group by category";
+
+        Map<String, Integer> counts = new HashMap<>();
+        jdbc.query(sql, params, rs -> {
+            counts.put(rs.getString("category"), rs.getInt("poi_count"));
+        });
+        return counts;
+    }
+
+    // one boundary strip: loose lat/lng range (index) clipped to the bbox + exact cell condition
+    private String strip(
+            String name,
+            double minLat, double maxLat, double minLng, double maxLng,
+            String cellCondition,
+            List<String> categories,
+            MapSqlParameterSource params
+    ) {
+        params.addValue(name + "MinLat", minLat)
+                .addValue(name + "MaxLat", maxLat)
+                .addValue(name + "MinLng", minLng)
+                .addValue(name + "MaxLng", maxLng);
+
+        String where = " where latitude between :minLat and :maxLat and longitude between :minLng and :maxLng"
+                + " and latitude between :" + name + "MinLat and :" + name + "MaxLat"
+                + " and longitude between :" + name + "MinLng and :" + name + "MaxLng";
+        if (categories != null && !categories.isEmpty()) {
+            where += " and category in (:categories)";
+        }
+
+        return "select category, count(*) as poi_count from (select category, " + CELLS
+                + " from points_of_interest" + where + ") " + name + " where " + cellCondition
+                + " group by category";
+    }
+
+    private String areaWhere(
+            PoiSearchInAreaRequestDTO.Bbox b,
+            List<String> categories,
+            MapSqlParameterSource params
+    ) {
+        StringBuilder where = new StringBuilder(
+                " where latitude between :minLat and :maxLat and longitude between :minLng and :maxLng");
+        params.addValue("minLat", b.getMinLat())
+                .addValue("minLng", b.getMinLng())
+                .addValue("maxLat", b.getMaxLat())
+                .addValue("maxLng", b.getMaxLng());
+
+        if (categories != null && !categories.isEmpty()) {
+            where.append(" and category in (:categories)");
+            params.addValue("categories", categories);
+        }
+        return where.toString();
+    }
+}
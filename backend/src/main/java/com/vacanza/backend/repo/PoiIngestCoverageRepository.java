@@ -0,0 +1,36 @@
+package com.vacanza.backend.repo;
+
+import com.vacanza.backend.entity.PoiIngestCoverage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface PoiIngestCoverageRepository extends JpaRepository<PoiIngestCoverage, PoiIngestCoverage.Key> {
+
+    // fresh tiles per category inside a tile range; truncated tiles use the shorter cutoff
+    @Query("""
+            select c.category as category, count(c) as tileCount from PoiIngestCoverage c
+            where c.tileRow between :minRow and :maxRow
+              and c.tileCol between :minCol and :maxCol
+              and c.category in :categories
+              and c.fetchedAt > :fetchedAfter
+              and (c.truncated = false or c.fetchedAt > :truncatedFetchedAfter)
+            group by c.category
+            """)
+    List<CategoryTileCount> countFreshTilesByCategory(
+            @Param("minRow") int minRow, @Param("maxRow") int maxRow,
+            @Param("minCol") int minCol, @Param("maxCol") int maxCol,
+            @Param("categories") List<String> categories,
+            @Param("fetchedAfter") Instant fetchedAfter,
+            @Param("truncatedFetchedAfter") Instant truncatedFetchedAfter
+    );
+
+    interface CategoryTileCount {
+        String getCategory();
+
+        long getTileCount();
+    }
+}
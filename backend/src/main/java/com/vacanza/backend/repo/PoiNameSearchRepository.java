@@ -0,0 +1,103 @@
+package com.vacanza.backend.repo;
+
+import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.DataClassRowMapper;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Name search over points_of_interest (GET /pois/search).
+ *
+ * Filters on lower(name), served by the indexes from sql/create_name_search.sql:
+ * - terms of 3+ chars -> lower(name) LIKE lower('%term%')   (pg_trgm GIN)
+ * - shorter terms     -> position(lower(term) in lower(name)) > 0: no trigrams to look up, so they are only
+ *                        rechecked on the rows the long terms found instead of turning the GIN scan
+ *                        into a full index scan; callers send at least one 3+ character term
+ * - prefixOnly=true   -> lower(name) LIKE lower('query%')   (text_pattern_ops B-tree, for 1-2 character typeahead)
+ *
+ * Ranking: exact name, name prefix, word prefix, anywhere; then rating desc, poi_id asc.
+ * Terms / query are passed as typed and lower-cased by the database, the same lower() as the name
+ * side (a Java toLowerCase disagrees with it on e.g. Turkish dotted I); LIKE wildcards are escaped here.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PoiNameSearchRepository {
+
+    public static final int MIN_TRIGRAM_LENGTH = 3;
+
+    // summary columns only (same as PointOfInterestRepository.SELECT_SUMMARY)
+    private static final String COLUMNS = """
+            poi_id, name, category, latitude, longitude, rating, price_level, external_id
+            """;
+
+    private static final String RANK = """
+            case when lower(name) = lower(:query) then 0
+                 when lower(name) like lower(:queryPrefix) escape '\\' then 1
+                 when lower(name) like lower(:wordPrefix) escape '\\' then 2
+                 else 3 end
+            """;
+
+    private static final RowMapper<PoiSummary> POI_MAPPER = new DataClassRowMapper<>(PoiSummary.class);
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public List<PoiSummary> search(
+            String query,
+            List<String> terms,
+            boolean prefixOnly,
+            PoiSearchInAreaRequestDTO.Bbox bbox,
+            List<String> categories,
+            int limit
+    ) {
+        String escaped = escapeLike(query);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", query)
+                .addValue("queryPrefix", escaped + "%")
+                .addValue("wordPrefix", "% " + escaped + "%")
+                .addValue("limit", limit);
+
+        StringBuilder sql = new StringBuilder("select ").append(COLUMNS).append(" from points_of_interest where ");
+
+        if (prefixOnly) {
+            sql.append("lower(name) like lower(:queryPrefix) escape '\\'");
+        } else {
+            for (int i = 0; i < terms.size(); i++) {
+                if (i > 0) sql.append(" and ");
+                String term = terms.get(i);
+                if (term.length() >= MIN_TRIGRAM_LENGTH) {
+                    sql.append("lower(name) like lower(:term").append(i).append(") escape '\\'");
+                    params.addValue("term" + i, "%" + escapeLike(term) + "%");
+                } else {
+                    sql.append("position(lower(:term").append(i).append(") in lower(name)) > 0");
+                    params.addValue("term" + i, term);
+                }
+            }
+        }
+
+        if (bbox != null) {
+            sql.append(" and latitude between :minLat and :maxLat and longitude between :minLng and :maxLng");
+            params.addValue("minLat", bbox.getMinLat())
+                    .addValue("maxLat", bbox.getMaxLat())
+                    .addValue("minLng", bbox.getMinLng())
+                    .addValue("maxLng", bbox.getMaxLng());
+        }
+
+        if (categories != null && !categories.isEmpty()) {
+            sql.append(" and category in (:categories)");
+            params.addValue("categories", categories);
+        }
+
+        sql.append(" order by ").append(RANK).append(", coalesce(rating, -1) desc, poi_id asc limit :limit");
+
+        return jdbc.query(sql.toString(), params, POI_MAPPER);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,182 @@
+package com.vacanza.backend.repo;
+
+import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.DataClassRowMapper;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * PostGIS query path for points_of_interest (poi.search.backend=postgis).
+ *
+ * Uses the generated geom column + GiST indexes from sql/create_postgis.sql:
+ * - bbox    -> geom && ST_MakeEnvelope(...)
+ * - polygon -> ST_Intersects(geom, polygon)
+ * - radius  -> ST_DWithin(geom::geography, point, meters)
+ *
+ * Ordering / keyset seek is the same as the JPQL queries in PointOfInterestRepository,
+ * so cursors and pages are interchangeable between the two backends.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PoiSpatialRepository {
+
+    // summary columns only (same as PointOfInterestRepository.SELECT_SUMMARY)
+    private static final String COLUMNS = """
+            poi_id, name, category, latitude, longitude, rating, price_level, external_id
+            """;
+
+    private static final String RATING_KEY = "coalesce(rating, -1)";
+    private static final String DISTANCE_KEY =
+            "((latitude - :centerLat) * (latitude - :centerLat) + (longitude - :centerLng) * (longitude - :centerLng))";
+
+    private static final RowMapper<PoiSummary> POI_MAPPER = new DataClassRowMapper<>(PoiSummary.class);
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * One page in bbox (+ polygon) (+ categories).
+     * afterKey/afterId == null => OFFSET, otherwise keyset seek past (afterKey, afterId).
+     */
+    public List<PoiSummary> findPage(
+            PoiSearchInAreaRequestDTO.Bbox bbox,
+            List<PoiSearchInAreaRequestDTO.LatLng> polygon,
+            List<String> categories,
+            PoiSearchInAreaRequestDTO.SortType sortType,
+            Double afterKey,
+            UUID afterId,
+            long offset,
+            int limit
+    ) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = new StringBuilder("select ").append(COLUMNS).append(" from points_of_interest");
+        sql.append(areaWhere(bbox, polygon, categories, params));
+
+        boolean byDistance = sortType == PoiSearchInAreaRequestDTO.SortType.DISTANCE_TO_CENTER;
+        String key = byDistance ? DISTANCE_KEY : RATING_KEY;
+
+        if (byDistance) {
+            params.addValue("centerLat", (bbox.getMinLat() + bbox.getMaxLat()) / 2);
+            params.addValue("centerLng", (bbox.getMinLng() + bbox.getMaxLng()) / 2);
+        }
+
+        boolean seek = afterKey != null && afterId != null;
+        if (seek) {
+            sql.append(" and (").append(key).append(byDistance ? " > " : " < ").append(":afterKey")
+                    .append(" or (").append(key).append(" = :afterKey and poi_id > :afterId))");
+            params.addValue("afterKey", afterKey);
+            params.addValue("afterId", afterId);
+        }
+
+        sql.append(" order by ").append(key).append(byDistance ? " asc" : " desc").append(", poi_id asc");
+        sql.append(" limit :limit offset :offset");
+        params.addValue("limit", limit);
+        params.addValue("offset", seek ? 0 : offset);
+
+        return jdbc.query(sql.toString(), params, POI_MAPPER);
+    }
+
+    /**
+     * GROUP BY category over the same area filter.
+     */
+    public Map<String, Integer> countByCategory(
+            PoiSearchInAreaRequestDTO.Bbox bbox,
+            List<PoiSearchInAreaRequestDTO.LatLng> polygon,
+            List<String> categories
+    ) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = "select category, count(*) as poi_count from points_of_interest"
+                + areaWhere(bbox, polygon, categories, params)
+                + " group by category";
+
+        Map<String, Integer> counts = new HashMap<>();
+        jdbc.query(sql, params, rs -> {
+            counts.put(rs.getString("category"), rs.getInt("poi_count"));
+        });
+        return counts;
+    }
+
+    /**
+     * POIs within radiusMeters of the point, nearest first (true geodesic distance).
+     */
+    public List<PoiSummary> findWithinRadius(
+            double lat,
+            double lng,
+            double radiusMeters,
+            List<String> categories,
+            int limit
+    ) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("lat", lat)
+                .addValue("lng", lng)
+                .addValue("radius", radiusMeters)
+                .addValue("limit", limit);
+
+        String origin = "ST_SetSRID(ST_MakePoint(:lng, :lat), 4326)::geography";
+
+        StringBuilder sql = new StringBuilder("select ").append(COLUMNS)
+                .append(" from points_of_interest where ST_DWithin(geom::geography, ")
+                .append(origin).append(", :radius)");
+
+        if (categories != null && !categories.isEmpty()) {
+            sql.append(" and category in (:categories)");
+            params.addValue("categories", categories);
+        }
+
+        sql.append(" order by geom::geography <-> ").append(origin).append(", poi_id asc limit :limit");
+
+        return jdbc.query(sql.toString(), params, POI_MAPPER);
+    }
+
+    // ================= HELPERS =================
+
+    private String areaWhere(
+            PoiSearchInAreaRequestDTO.Bbox b,
+            List<PoiSearchInAreaRequestDTO.LatLng> polygon,
+            List<String> categories,
+            MapSqlParameterSource params
+    ) {
+        StringBuilder where = new StringBuilder(
+                " where geom && ST_MakeEnvelope(:minLng, :minLat, :maxLng, :maxLat, 4326)");
+        params.addValue("minLat", b.getMinLat())
+                .addValue("minLng", b.getMinLng())
+                .addValue("maxLat", b.getMaxLat())
+                .addValue("maxLng", b.getMaxLng());
+
+        if (polygon != null) {
+            where.append(" and ST_Intersects(geom, ST_MakeValid(ST_GeomFromText(:polygonWkt, 4326)))");
+            params.addValue("polygonWkt", toWkt(polygon));
+        }
+
+        if (categories != null && !categories.isEmpty()) {
+            where.append(" and category in (:categories)");
+            params.addValue("categories", categories);
+        }
+        return where.toString();
+    }
+
+    private static String toWkt(List<PoiSearchInAreaRequestDTO.LatLng> polygon) {
+        StringBuilder wkt = new StringBuilder("POLYGON((");
+        for (var p : polygon) {
+            wkt.append(String.format(Locale.US, "%s %s,", p.getLng(), p.getLat()));
+        }
+
+        // WKT rings must be closed
+        var first = polygon.get(0);
+        var last = polygon.get(polygon.size() - 1);
+        if (!first.getLat().equals(last.getLat()) || !first.getLng().equals(last.getLng())) {
+            wkt.append(String.format(Locale.US, "%s %s,", first.getLng(), first.getLat()));
+        }
+
+        wkt.setLength(wkt.length() - 1);
+        return wkt.append("))").toString();
+    }
+}
@@ -0,0 +1,30 @@
+package com.vacanza.backend.repo;
+
+import com.vacanza.backend.entity.PointOfInterest;
+
+import java.util.UUID;
+
+/**
+ * Read-only list row of points_of_interest: the columns of PoiSummaryDTO, nothing else.
+ *
+ * Produced by the JPQL "select new" of PointOfInterestRepository.SELECT_SUMMARY and by the JDBC
+ * repositories, so list paths never hold half-populated PointOfInterest entities that could be saved back.
+ */
+public record PoiSummary(
+        UUID poiId,
+        String name,
+        String category,
+        Double latitude,
+        Double longitude,
+        Double rating,
+        String priceLevel,
+        String externalId
+) {
+
+    public static PoiSummary of(PointOfInterest p) {
+        return new PoiSummary(
+                p.getPoiId(), p.getName(), p.getCategory(), p.getLatitude(), p.getLongitude(),
+                p.getRating(), p.getPriceLevel(), p.getExternalId()
+        );
+    }
+}
@@ -4,14 +4,33 @@ import org.springframework.data.domain.Pageable;
 import com.vacanza.backend.entity.PointOfInterest;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.domain.Page;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface PointOfInterestRepository extends JpaRepository<PointOfInterest, UUID> {
 
+    // summary columns only, as a read-only PoiSummary (never a managed / half-populated entity)
+    String SELECT_SUMMARY = """
+            select new com.vacanza.backend.repo.PoiSummary(
+                p.poiId, p.name, p.category, p.latitude, p.longitude, p.rating, p.priceLevel, p.externalId)
+            from PointOfInterest p
+            """;
+
     Optional<PointOfInterest> findByExternalId(String externalId);
     boolean existsByExternalId(String externalId);
+
+    // ingest: one lookup for a whole Geoapify batch
+    @Query("select p.externalId from PointOfInterest p where p.externalId in :externalIds")
+    List<String> findExistingExternalIds(@Param("externalIds") Collection<String> externalIds);
+
     // BBOX: kategori filtresi yoksa kullanılır
     List<PointOfInterest> findByLatitudeBetweenAndLongitudeBetween(
             Double minLat, Double maxLat,
@@ -44,4 +63,216 @@ public interface PointOfInterestRepository extends JpaRepository<PointOfInterest
             List<String> categories,
             Pageable pageable
     );
-}
\ No newline at end of file
+
+    // ================= SUMMARY LISTS (in-memory paths: polygon filter, spatial index) =================
+
+    @Query(SELECT_SUMMARY + """
+            where p.latitude between :minLat and :maxLat
+              and p.longitude between :minLng and :maxLng
+            """)
+    List<PoiSummary> findSummariesInBbox(
+            @Param("minLat") Double minLat, @Param("maxLat") Double maxLat,
+            @Param("minLng") Double minLng, @Param("maxLng") Double maxLng
+    );
+
+    @Query(SELECT_SUMMARY + """
+            where p.latitude between :minLat and :maxLat
+              and p.longitude between :minLng and :maxLng
+              and p.category in :categories
+            """)
+    List<PoiSummary> findSummariesInBboxAndCategoryIn(
+            @Param("minLat") Double minLat, @Param("maxLat") Double maxLat,
+            @Param("minLng") Double minLng, @Param("maxLng") Double maxLng,
+            @Param("categories") List<String> categories
+    );
+
+    @Query(SELECT_SUMMARY)
+    List<PoiSummary> findAllSummaries();
+
+    // ================= EXPORT STREAMS (server-side cursor, caller holds a transaction and closes the stream) =================
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_SUMMARY + """
+            where p.latitude between :minLat and :maxLat
+              and p.longitude between :minLng and :maxLng
+            """)
+    Stream<PoiSummary> streamSummariesInBbox(
+            @Param("minLat") Double minLat, @Param("maxLat") Double maxLat,
+            @Param("minLng") Double minLng, @Param("maxLng") Double maxLng
+    );
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_SUMMARY + """
+            where p.latitude between :minLat and :maxLat
+              and p.longitude between :minLng and :maxLng
+              and p.category in :categories
+            """)
+    Stream<PoiSummary> streamSummariesInBboxAndCategoryIn(
+            @Param("minLat") Double minLat, @Param("maxLat") Double maxLat,
+            @Param("minLng") Double minLng, @Param("maxLng") Double maxLng,
+            @Param("categories") List<String> categories
+    );
+
+    // ================= SEARCH-IN-AREA (sort + LIMIT/OFFSET in SQL) =================
+    // rating null => last (coalesce), poiId tie-breaker keeps pages stable
+
+    @Query(SELECT_SUMMARY + """
+            where p.latitude between :minLat and :maxLat
+              and p.longitude between :minLng and :maxLng
+            order by coalesce(p.rating, -1) desc, p.poiId asc
+            """)
+    List<PoiSummary> findPageInBboxOrderByRating(
+            @Param("minLat") Double minLat, @Param("maxLat") Double maxLat,
+            @Param("minLng") Double minLng, @Param("maxLng") Double maxLng,
+            Pageable pageable
+    );
+
+    @Query(SELECT_SUMMARY + """
+            where p.latitude between :minLat and :maxLat
+              and p.longitude between :minLng and :maxLng
+              and p.category in :categories
+            order by coalesce(p.rating, -1) desc, p.poiId asc
+            """)
+    List<PoiSummary> findPageInBboxAndCategoryInOrderByRating(
+            @Param("minLat") Double minLat, @Param("maxLat") Double maxLat,
+            @Param("minLng") Double minLng, @Param("maxLng") Double maxLng,
+            @Param("categories") List<String> categories,
+            Pageable pageable
+    );
+
+    @Query(SELECT_SUMMARY + """
+            where p.latitude between :minLat and :maxLat
+              and p.longitude between :minLng and :maxLng
+            order by ((p.latitude - :centerLat) * (p.latitude - :centerLat)
+                    + (p.longitude - :centerLng) * (p.longitude - :centerLng)) asc, p.poiId asc
+            """)
+    List<PoiSummary> findPageInBboxOrderByDistance(
+            @Param("minLat") Double minLat, @Param("maxLat") Double maxLat,
+            @Param("minLng") Double minLng, @Param("maxLng") Double maxLng,
+            @Param("centerLat") Double centerLat, @Param("centerLng") Double centerLng,
+            Pageable pageable
+    );
+
+    @Query(SELECT_SUMMARY + """
+            where p.latitude between :minLat and :maxLat
+              and p.longitude between :minLng and :maxLng
+              and p.category in :categories
+            order by ((p.latitude - :centerLat) * (p.latitude - :centerLat)
+                    + (p.longitude - :centerLng) * (p.longitude - :centerLng)) asc, p.poiId asc
+            """)
+    List<PoiSummary> findPageInBboxAndCategoryInOrderByDistance(
+            @Param("minLat") Double minLat, @Param("maxLat") Double maxLat,
+            @Param("minLng") Double minLng, @Param("maxLng") Double maxLng,
+            @Param("categories") List<String> categories,
+            @Param("centerLat") Double centerLat, @Param("centerLng") Double centerLng,
+            Pageable pageable
+    );
+
+    // ================= KEYSET (cursor) variants: seek past (key, poiId) of the previous page =================
+
+    @Query(SELECT_SUMMARY + """
+            where p.latitude between :minLat and :maxLat
+              and p.longitude between :minLng and :maxLng
+              and (coalesce(p.rating, -1) < :afterRating
+                   or (coalesce(p.rating, -1) = :afterRating and p.poiId > :afterId))
+            order by coalesce(p.rating, -1) desc, p.poiId asc
+            """)
+    List<PoiSummary> findPageInBboxOrderByRatingAfter(
+            @Param("minLat") Double minLat, @Param("maxLat") Double maxLat,
+            @Param("minLng") Double minLng, @Param("maxLng") Double maxLng,
+            @Param("afterRating") Double afterRating, @Param("afterId") UUID afterId,
+            Pageable pageable
+    );
+
+    @Query(SELECT_SUMMARY + """
+            where p.latitude between :minLat and :maxLat
+              and p.longitude between :minLng and :maxLng
+              and p.category in :categories
+              and (coalesce(p.rating, -1) < :afterRating
+                   or (coalesce(p.rating, -1) = :afterRating and p.poiId > :afterId))
+            order by coalesce(p.rating, -1) desc, p.poiId asc
+            """)
+    List<PoiSummary> findPageInBboxAndCategoryInOrderByRatingAfter(
+            @Param("minLat") Double minLat, @Param("maxLat") Double maxLat,
+            @Param("minLng") Double minLng, @Param("maxLng") Double maxLng,
+            @Param("categories") List<String> categories,
+            @Param("afterRating") Double afterRating, @Param("afterId") UUID afterId,
+            Pageable pageable
+    );
+
+    @Query(SELECT_SUMMARY + """
+            where p.latitude between :minLat and :maxLat
+              and p.longitude between :minLng and :maxLng
+              and (((p.latitude - :centerLat) * (p.latitude - :centerLat)
+                      + (p.longitude - :centerLng) * (p.longitude - :centerLng)) > :afterDistance
+                   or (((p.latitude - :centerLat) * (p.latitude - :centerLat)
+                      + (p.longitude - :centerLng) * (p.longitude - :centerLng)) = :afterDistance
+                       and p.poiId > :afterId))
+            order by ((p.latitude - :centerLat) * (p.latitude - :centerLat)
+                    + (p.longitude - :centerLng) * (p.longitude - :centerLng)) asc, p.poiId asc
+            """)
+    List<PoiSummary> findPageInBboxOrderByDistanceAfter(
+            @Param("minLat") Double minLat, @Param("maxLat") Double maxLat,
+            @Param("minLng") Double minLng, @Param("maxLng") Double maxLng,
+            @Param("centerLat") Double centerLat, @Param("centerLng") Double centerLng,
+            @Param("afterDistance") Double afterDistance, @Param("afterId") UUID afterId,
+            Pageable pageable
+    );
+
+    @Query(SELECT_SUMMARY + """
+            where p.latitude between :minLat and :maxLat
+              and p.longitude between :minLng and :maxLng
+              and p.category in :categories
+              and (((p.latitude - :centerLat) * (p.latitude - :centerLat)
+                      + (p.longitude - :centerLng) * (p.longitude - :centerLng)) > :afterDistance
+                   or (((p.latitude - :centerLat) * (p.latitude - :centerLat)
+                      + (p.longitude - :centerLng) * (p.longitude - :centerLng)) = :afterDistance
+                       and p.poiId > :afterId))
+            order by ((p.latitude - :centerLat) * (p.latitude - :centerLat)
+                    + (p.longitude - :centerLng) * (p.longitude - :centerLng)) asc, p.poiId asc
+            """)
+    List<PoiSummary> findPageInBboxAndCategoryInOrderByDistanceAfter(
+            @Param("minLat") Double minLat, @Param("maxLat") Double maxLat,
+            @Param("minLng") Double minLng, @Param("maxLng") Double maxLng,
+            @Param("categories") List<String> categories,
+            @Param("centerLat") Double centerLat, @Param("centerLng") Double centerLng,
+            @Param("afterDistance") Double afterDistance, @Param("afterId") UUID afterId,
+            Pageable pageable
+    );
+
+    // GROUP BY category: filter panel counts (their sum is the total count)
+    @Query("""
+            select p.category as category, count(p) as poiCount from PointOfInterest p
+            where p.latitude between :minLat and :maxLat
+              and p.longitude between :minLng and :maxLng
+            group by p.category
+            """)
+    List<CategoryCount> countByCategoryInBbox(
+            @Param("minLat") Double minLat, @Param("maxLat") Double maxLat,
+            @Param("minLng") Double minLng, @Param("maxLng") Double maxLng
+    );
+
+    @Query("""
+            select p.category as category, count(p) as poiCount from PointOfInterest p
+            where p.latitude between :minLat and :maxLat
+              and p.longitude between :minLng and :maxLng
+              and p.category in :categories
+            group by p.category
+            """)
+    List<CategoryCount> countByCategoryInBboxAndCategoryIn(
+            @Param("minLat") Double minLat, @Param("maxLat") Double maxLat,
+            @Param("minLng") Double minLng, @Param("maxLng") Double maxLng,
+            @Param("categories") List<String> categories
+    );
+
+    interface CategoryCount {
+        String getCategory();
+        long getPoiCount();
+    }
+}
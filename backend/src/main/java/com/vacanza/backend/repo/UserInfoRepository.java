@@ -1,6 +1,5 @@
 package com.vacanza.backend.repo;
 
-import com.vacanza.backend.entity.User;
 import com.vacanza.backend.entity.UserInfo;
 import org.springframework.data.jpa.repository.JpaRepository;
 
@@ -9,7 +8,7 @@ import java.util.UUID;
 
 public interface UserInfoRepository extends JpaRepository<UserInfo, UUID> {
 
-    Optional<UserInfo> findByUser(User user);
+    Optional<UserInfo> findByUserUserId(UUID userId);
 
-    boolean existsByUser(User user);
+    boolean existsByUserUserId(UUID userId);
 }
@@ -0,0 +1,61 @@
+package com.vacanza.backend.repo;
+
+import com.vacanza.backend.entity.User;
+import com.vacanza.backend.entity.enums.Role;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Idempotent first-login insert into users.
+ *
+ * INSERT ... ON CONFLICT DO NOTHING, then read the row back by uid: when two requests for a new uid race,
+ * the loser waits for the winner's commit on uk_users_firebase_uid and reads its row instead of failing.
+ * No lock is taken and nothing is retried. If the email belongs to another uid (uk_users_email) nothing
+ * is inserted and the read-back fails, as the plain save() did.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserProvisioningRepository {
+
+    private static final String INSERT_IF_ABSENT = """
+            insert into users (user_id, firebase_uid, email, role, created_at)
+            values (:userId, :firebaseUid, :email, :role, :createdAt)
+            on conflict do nothing
+            """;
+
+    private static final String SELECT_BY_UID = """
+            select user_id, firebase_uid, email, role, created_at
+            from users
+            where firebase_uid = :firebaseUid
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * The users row for firebaseUid, created as a USER if missing (also when another request created it meanwhile).
+     */
+    public User insertIfAbsent(String firebaseUid, String email) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", UUID.randomUUID())
+                .addValue("firebaseUid", firebaseUid)
+                .addValue("email", email)
+                .addValue("role", Role.USER.name())
+                .addValue("createdAt", Timestamp.from(Instant.now()));
+
+        jdbc.update(INSERT_IF_ABSENT, params);
+
+        return jdbc.queryForObject(SELECT_BY_UID, params, (rs, i) -> User.builder()
+                .userId(rs.getObject("user_id", UUID.class))
+                .firebaseUid(rs.getString("firebase_uid"))
+                .email(rs.getString("email"))
+                .role(Role.valueOf(rs.getString("role")))
+                .createdAt(rs.getTimestamp("created_at").toInstant())
+                .build());
+    }
+}
@@ -10,15 +10,17 @@ import org.springframework.web.server.ResponseStatusException;
 
 /**
  * Resolves current user from SecurityContext.
- * principal is set by FirebaseTokenFilter as firebaseUid.
+ * principal is set by FirebaseTokenFilter as UserIdentity (resolved users row), so no lookup is needed here.
  */
 @Component
 public class CurrentUserProvider {
 
     private final UserRepository userRepository;
+    private final UserIdentityCache identityCache;
 
-    public CurrentUserProvider(UserRepository userRepository) {
+    public CurrentUserProvider(UserRepository userRepository, UserIdentityCache identityCache) {
         this.userRepository = userRepository;
+        this.identityCache = identityCache;
     }
 
     public String getFirebaseUid() {
@@ -28,6 +30,10 @@ public class CurrentUserProvider {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing Authorization Bearer token");
         }
 
+        if (auth.getPrincipal() instanceof UserIdentity identity) {
+            return identity.firebaseUid();
+        }
+
         String principal = String.valueOf(auth.getPrincipal());
         if (principal.isBlank() || "anonymousUser".equalsIgnoreCase(principal)) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing Authorization Bearer token");
@@ -36,12 +42,51 @@ public class CurrentUserProvider {
         return principal;
     }
 
-    public User getCurrentUserEntity() {
+    /**
+     * userId / email / role of the current user, straight from the principal.
+     */
+    public UserIdentity getCurrentIdentity() {
         String uid = getFirebaseUid();
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+
+        if (auth.getPrincipal() instanceof UserIdentity identity) {
+            return identity;
+        }
+
         return userRepository.findByFirebaseUid(uid)
+                .map(UserIdentity::of)
                 .orElseThrow(() -> new ResponseStatusException(
                         HttpStatus.UNAUTHORIZED,
                         "Authenticated user not found in database"
                 ));
     }
-}
\ No newline at end of file
+
+    /**
+     * Current users row, looked up by primary key; for callers that link or modify it.
+     * The identity may be cached for a user deleted since (outside JPA, or on another instance):
+     * that stays a 401 and the cached identity is dropped, instead of failing later on a missing row.
+     */
+    public User getCurrentUserEntity() {
+        UserIdentity identity = getCurrentIdentity();
+        return userRepository.findById(identity.userId())
+                .orElseThrow(() -> userGone(identity));
+    }
+
+    /**
+     * Same 401 as getCurrentUserEntity without loading the row. Reads by userId only need this when
+     * they found nothing: a user_info row references the users row, so its presence already proves it.
+     */
+    public void requireCurrentUserExists(UserIdentity identity) {
+        if (!userRepository.existsById(identity.userId())) {
+            throw userGone(identity);
+        }
+    }
+
+    private ResponseStatusException userGone(UserIdentity identity) {
+        identityCache.invalidate(identity.firebaseUid());
+        return new ResponseStatusException(
+                HttpStatus.UNAUTHORIZED,
+                "Authenticated user not found in database"
+        );
+    }
+}
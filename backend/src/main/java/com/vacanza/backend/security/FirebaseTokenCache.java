@@ -0,0 +1,132 @@
+package com.vacanza.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthException;
+import com.google.firebase.auth.FirebaseToken;
+import com.vacanza.backend.config.AuthProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Verified Firebase ID tokens, so a token is signature-checked once instead of on every request.
+ *
+ * - key: SHA-256 of the raw token (the token itself is never stored)
+ * - value: decoded uid / email / emailVerified
+ * - an entry expires at the token's exp (capped by auth.token-cache.max-ttl); bounded by max-entries
+ * - failed verifications are not cached
+ *
+ * verifyIdToken is called without checkRevoked, so reuse until exp does not skip a revocation check.
+ *
+ * Metrics: cache.gets{result=hit|miss}, cache.size, cache.evictions (cache=auth.tokens)
+ */
+@Component
+public class FirebaseTokenCache {
+
+    public record VerifiedToken(String uid, String email, boolean emailVerified, Instant expiresAt) {
+    }
+
+    private final AuthProperties properties;
+    private final Clock clock;
+    private final Cache<String, VerifiedToken> cache;
+
+    @Autowired
+    public FirebaseTokenCache(AuthProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Clock.systemUTC());
+    }
+
+    FirebaseTokenCache(AuthProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getTokenCache().getMaxEntries())
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        return timeToLive(value).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return timeToLive(value).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.tokens");
+    }
+
+    /**
+     * Decoded token; throws like FirebaseAuth.verifyIdToken when the token is invalid or expired.
+     */
+    public VerifiedToken verify(String token) throws FirebaseAuthException {
+        if (!properties.getTokenCache().isEnabled()) {
+            return decode(verifyWithFirebase(token));
+        }
+
+        String key = sha256(token);
+        VerifiedToken cached = cache.getIfPresent(key);
+        if (cached != null && cached.expiresAt().isAfter(clock.instant())) {
+            return cached;
+        }
+
+        VerifiedToken verified = decode(verifyWithFirebase(token));
+        if (verified.expiresAt().isAfter(clock.instant())) {
+            cache.put(key, verified);
+        }
+        return verified;
+    }
+
+    // signature / issuer / audience / exp check (may fetch Google's public keys)
+    FirebaseToken verifyWithFirebase(String token) throws FirebaseAuthException {
+        return FirebaseAuth.getInstance().verifyIdToken(token);
+    }
+
+    private VerifiedToken decode(FirebaseToken decoded) {
+        // exp is seconds since epoch; without it the token is used once and not cached
+        Object exp = decoded.getClaims().get("exp");
+        Instant expiresAt = exp instanceof Number n ? Instant.ofEpochSecond(n.longValue()) : clock.instant();
+
+        return new VerifiedToken(
+                decoded.getUid(),
+                decoded.getEmail(), // can be null
+                Boolean.TRUE.equals(decoded.isEmailVerified()),
+                expiresAt
+        );
+    }
+
+    private Duration timeToLive(VerifiedToken token) {
+        Duration untilExp = Duration.between(clock.instant(), token.expiresAt());
+        Duration max = properties.getTokenCache().getMaxTtl();
+        if (untilExp.isNegative()) return Duration.ZERO;
+        return untilExp.compareTo(max) < 0 ? untilExp : max;
+    }
+
+    private static String sha256(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            // every JRE ships SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -1,10 +1,5 @@
 package com.vacanza.backend.security;
 
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseToken;
-import com.vacanza.backend.entity.User;
-import com.vacanza.backend.entity.enums.Role;
-import com.vacanza.backend.repo.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -29,19 +24,21 @@ import java.util.List;
  * - If Authorization header is missing or not Bearer => do nothing, continue filter chain.
  *   (SecurityConfig decides if endpoint is public or requires authentication.)
  * - If Bearer token is present:
- *   - verify token using Firebase Admin SDK
- *   - ensure user exists in DB (users table)
- *   - set SecurityContext principal=firebaseUid, authority=ROLE_*
+ *   - verify token using Firebase Admin SDK (reused until exp via FirebaseTokenCache)
+ *   - ensure user exists in DB (users table), via UserIdentityCache
+ *   - set SecurityContext principal=UserIdentity (getName() = firebaseUid), authority=ROLE_*
  *   - attach request attributes: firebaseEmail, firebaseEmailVerified
  * - If Bearer token is present but invalid/expired => 401
  */
 @Component
 public class FirebaseTokenFilter extends OncePerRequestFilter {
 
-    private final UserRepository userRepository;
+    private final FirebaseTokenCache tokenCache;
+    private final UserIdentityCache identityCache;
 
-    public FirebaseTokenFilter(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public FirebaseTokenFilter(FirebaseTokenCache tokenCache, UserIdentityCache identityCache) {
+        this.tokenCache = tokenCache;
+        this.identityCache = identityCache;
     }
 
     @Override
@@ -69,31 +66,22 @@ public class FirebaseTokenFilter extends OncePerRequestFilter {
         try {
             String token = header.substring("Bearer ".length()).trim();
 
-            // Verify Firebase ID token (throws if invalid/expired)
-            FirebaseToken decoded = FirebaseAuth.getInstance().verifyIdToken(token);
-
-            String uid = decoded.getUid();
-            String email = decoded.getEmail(); // can be null
-            boolean emailVerified = Boolean.TRUE.equals(decoded.isEmailVerified());
-
-            // DB sync: create user if missing
-            User user = userRepository.findByFirebaseUid(uid).orElseGet(() ->
-                    userRepository.save(
-                            User.builder()
-                                    .firebaseUid(uid)
-                                    // If email is null, set a safe placeholder to avoid null constraints.
-                                    .email(email != null ? email : ("uid:" + uid))
-                                    .role(Role.USER)
-                                    .build()
-                    )
-            );
+            // Verify Firebase ID token (throws if invalid/expired); cached until the token's exp
+            FirebaseTokenCache.VerifiedToken decoded = tokenCache.verify(token);
+
+            String uid = decoded.uid();
+            String email = decoded.email(); // can be null
+            boolean emailVerified = decoded.emailVerified();
+
+            // users row (created on first login); cached, so steady-state requests skip the DB
+            UserIdentity user = identityCache.resolve(uid, email);
 
             List<SimpleGrantedAuthority> authorities = List.of(
-                    new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
+                    new SimpleGrantedAuthority("ROLE_" + user.role().name())
             );
 
             UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken(user.getFirebaseUid(), null, authorities);
+                    new UsernamePasswordAuthenticationToken(user, null, authorities);
 
             authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
             SecurityContextHolder.getContext().setAuthentication(authentication);
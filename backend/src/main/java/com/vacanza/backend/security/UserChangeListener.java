@@ -0,0 +1,28 @@
+package com.vacanza.backend.security;
+
+import com.vacanza.backend.entity.User;
+import com.vacanza.backend.event.UserChangedEvent;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener on User (role change, email change, delete) -> UserChangedEvent.
+ * Instantiated by Hibernate through Spring, so it can publish application events.
+ */
+@Component
+public class UserChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getFirebaseUid()));
+    }
+}
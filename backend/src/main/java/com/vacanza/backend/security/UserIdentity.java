@@ -0,0 +1,23 @@
+package com.vacanza.backend.security;
+
+import com.vacanza.backend.entity.User;
+import com.vacanza.backend.entity.enums.Role;
+
+import java.security.Principal;
+import java.util.UUID;
+
+/**
+ * Authenticated principal set by FirebaseTokenFilter: the users row resolved for the token's uid.
+ * getName() is the firebaseUid, so Authentication.getName() keeps returning the uid.
+ */
+public record UserIdentity(UUID userId, String firebaseUid, String email, Role role) implements Principal {
+
+    public static UserIdentity of(User user) {
+        return new UserIdentity(user.getUserId(), user.getFirebaseUid(), user.getEmail(), user.getRole());
+    }
+
+    @Override
+    public String getName() {
+        return firebaseUid;
+    }
+}
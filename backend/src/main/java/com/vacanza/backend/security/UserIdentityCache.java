@@ -0,0 +1,107 @@
+package com.vacanza.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vacanza.backend.config.AuthProperties;
+import com.vacanza.backend.entity.User;
+import com.vacanza.backend.event.UserChangedEvent;
+import com.vacanza.backend.repo.UserProvisioningRepository;
+import com.vacanza.backend.repo.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * firebaseUid -> UserIdentity (userId, email, role), so authenticated requests skip the users lookup.
+ *
+ * - filled on first sight (existing row, or a USER row created on first login)
+ * - concurrent misses for the same uid share one load: the app fires several calls right after the
+ *   first sign-in, only one of them queries / inserts, the others wait for its result
+ * - dropped after commit when the row is updated / deleted through JPA (UserChangedEvent)
+ * - auth.identity-cache.ttl bounds staleness for changes made outside the application (e.g. manual SQL)
+ *
+ * Metrics: cache.gets{result=hit|miss}, cache.size (cache=auth.identities)
+ */
+@Component
+public class UserIdentityCache {
+
+    private final UserRepository userRepository;
+    private final UserProvisioningRepository provisioningRepository;
+    private final AuthProperties properties;
+    private final Cache<String, UserIdentity> cache;
+    private final ConcurrentMap<String, CompletableFuture<UserIdentity>> loading = new ConcurrentHashMap<>();
+
+    public UserIdentityCache(
+            UserRepository userRepository,
+            UserProvisioningRepository provisioningRepository,
+            AuthProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.userRepository = userRepository;
+        this.provisioningRepository = provisioningRepository;
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getIdentityCache().getMaxEntries())
+                .expireAfterWrite(properties.getIdentityCache().getTtl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.identities");
+    }
+
+    /**
+     * Identity for a verified token; creates the users row on first login.
+     */
+    public UserIdentity resolve(String uid, String email) {
+        boolean enabled = properties.getIdentityCache().isEnabled();
+
+        if (enabled) {
+            UserIdentity cached = cache.getIfPresent(uid);
+            if (cached != null) return cached;
+        }
+
+        CompletableFuture<UserIdentity> mine = new CompletableFuture<>();
+        CompletableFuture<UserIdentity> inFlight = loading.putIfAbsent(uid, mine);
+        if (inFlight != null) {
+            // join() wraps a failed load in CompletionException; the filter answers 401 either way
+            return inFlight.join();
+        }
+
+        try {
+            UserIdentity identity = UserIdentity.of(findOrCreate(uid, email));
+            if (enabled) cache.put(uid, identity);
+            mine.complete(identity);
+            return identity;
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            loading.remove(uid, mine);
+        }
+    }
+
+    public void invalidate(String uid) {
+        cache.invalidate(uid);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.firebaseUid());
+    }
+
+    // DB sync: create user if missing (idempotent, another instance may be inserting the same uid)
+    private User findOrCreate(String uid, String email) {
+        return userRepository.findByFirebaseUid(uid).orElseGet(() ->
+                provisioningRepository.insertIfAbsent(
+                        uid,
+                        // If email is null, set a safe placeholder to avoid null constraints.
+                        email != null ? email : ("uid:" + uid)
+                )
+        );
+    }
+}
@@ -1,24 +1,20 @@
 package com.vacanza.backend.service;
 
 import com.vacanza.backend.dto.response.UserAuthenticationDTO;
-import com.vacanza.backend.entity.LoginHistory;
-import com.vacanza.backend.entity.User;
 import com.vacanza.backend.repo.UserInfoRepository;
-import com.vacanza.backend.repo.UserLoginHistoryRepository;
 import com.vacanza.backend.security.CurrentUserProvider;
+import com.vacanza.backend.security.UserIdentity;
 import com.vacanza.backend.service.impl.AuthImpl;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
-
 /**
  * /auth/me implementation:
  * - resolves current user from SecurityContext (set by FirebaseTokenFilter)
  * - returns identity + role + verified + profileCompleted
- * - writes login_history entry (server-side)
+ * - records a login_history entry (server-side, written asynchronously by LoginHistoryWriter)
  */
 @Service
 @AllArgsConstructor
@@ -26,33 +22,28 @@ public class AuthService implements AuthImpl {
 
     private final CurrentUserProvider currentUserProvider;
     private final UserInfoRepository userInfoRepository;
-    private final UserLoginHistoryRepository loginHistoryRepository;
+    private final LoginHistoryWriter loginHistoryWriter;
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public UserAuthenticationDTO getMe(HttpServletRequest request) {
-        User user = currentUserProvider.getCurrentUserEntity();
+        UserIdentity identity = currentUserProvider.getCurrentIdentity();
 
-        boolean profileCompleted = userInfoRepository.existsByUser(user);
+        boolean profileCompleted = userInfoRepository.existsByUserUserId(identity.userId());
+        if (!profileCompleted) currentUserProvider.requireCurrentUserExists(identity);
 
         // Filter sets these attributes when token is present+verified.
         boolean emailVerified = Boolean.TRUE.equals(request.getAttribute("firebaseEmailVerified"));
 
         // Log login history (server-side). Minimal: each /auth/me call logs one record.
-        loginHistoryRepository.save(
-                LoginHistory.builder()
-                        .user(user)
-                        .loginProvider("firebase")
-                        .loginTime(Instant.now())
-                        .ipAddress(resolveClientIp(request))
-                        .build()
-        );
+        // Queued only; the insert happens in a batch off the request path.
+        loginHistoryWriter.record(identity.userId(), resolveClientIp(request));
 
         return UserAuthenticationDTO.builder()
-                .userId(user.getUserId())
-                .firebaseUid(user.getFirebaseUid())
-                .email(user.getEmail())
-                .role(user.getRole().name())
+                .userId(identity.userId())
+                .firebaseUid(identity.firebaseUid())
+                .email(identity.email())
+                .role(identity.role().name())
                 .verified(emailVerified)
                 .profileCompleted(profileCompleted)
                 .build();
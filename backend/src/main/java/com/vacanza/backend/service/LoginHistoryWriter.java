@@ -0,0 +1,208 @@
+package com.vacanza.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.vacanza.backend.config.AuthProperties;
+import com.vacanza.backend.repo.LoginHistoryBatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * login_history writes off the /auth/me path (auth.login-history.*).
+ *
+ * - logins of the same user+IP less than coalesce-window apart are one session, tracked in memory: the
+ *   first login queues the row, later ones only bump last-seen / count; when the session ends (window
+ *   elapsed, max-sessions exceeded, shutdown) one update writes its final last_seen_at / login_count
+ * - record() only offers to a bounded in-memory queue; when it is full the overflow policy either drops
+ *   the row or writes it in the calling thread
+ * - a scheduled flush drains the queue in JDBC batches of batch-size
+ * - sessions are closed and the queue is drained once more on shutdown (after the web server stopped
+ *   taking requests)
+ *
+ * Every batch is written in its own transaction (REQUIRES_NEW): the synchronous writes (async=false,
+ * CALLER_RUNS overflow) run inside the read-only transaction of /auth/me, which Postgres would reject.
+ *
+ * Rows still queued when the process dies are lost; login_history is an audit trail, not a source of truth.
+ *
+ * Sessions are per instance: behind several instances a session may be split across rows.
+ *
+ * Metrics: auth.logins.queued, auth.logins.flush (timer),
+ *          auth.logins.rows{result=written|coalesced|dropped|failed}
+ */
+@Slf4j
+@Service
+public class LoginHistoryWriter {
+
+    private static final String PROVIDER = "firebase";
+
+    private final LoginHistoryBatchRepository batchRepository;
+    private final AuthProperties properties;
+    private final TransactionTemplate writeTransaction;
+    private final BlockingQueue<LoginHistoryBatchRepository.Login> queue;
+    private final BlockingQueue<LoginHistoryBatchRepository.SessionUpdate> sessionUpdates;
+    private final Cache<SessionKey, Session> sessions;
+
+    private final Timer flushTimer;
+    private final Counter writtenRows;
+    private final Counter coalescedRows;
+    private final Counter droppedRows;
+    private final Counter failedRows;
+
+    public LoginHistoryWriter(
+            LoginHistoryBatchRepository batchRepository,
+            AuthProperties properties,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.batchRepository = batchRepository;
+        this.properties = properties;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(properties.getLoginHistory().getQueueCapacity());
+        this.sessionUpdates = new ArrayBlockingQueue<>(properties.getLoginHistory().getQueueCapacity());
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(properties.getLoginHistory().getMaxSessions())
+                // every login replaces the entry, so the window slides with the last login
+                .expireAfterWrite(properties.getLoginHistory().getCoalesceWindow())
+                // close sessions in the thread that evicts them (flush / record), not in the common pool
+                .executor(Runnable::run)
+                .removalListener(this::onSessionRemoved)
+                .build();
+        this.flushTimer = meterRegistry.timer("auth.logins.flush");
+        this.writtenRows = meterRegistry.counter("auth.logins.rows", "result", "written");
+        this.coalescedRows = meterRegistry.counter("auth.logins.rows", "result", "coalesced");
+        this.droppedRows = meterRegistry.counter("auth.logins.rows", "result", "dropped");
+        this.failedRows = meterRegistry.counter("auth.logins.rows", "result", "failed");
+        meterRegistry.gauge("auth.logins.queued", queue, BlockingQueue::size);
+    }
+
+    private record SessionKey(UUID userId, String ipAddress) {
+    }
+
+    // loginId = the row inserted for the first login of the session
+    private record Session(UUID loginId, Instant lastSeen, int count) {
+    }
+
+    /**
+     * One successful /auth/me of userId from ipAddress.
+     */
+    public void record(UUID userId, String ipAddress) {
+        Instant now = Instant.now();
+        AuthProperties.LoginHistory cfg = properties.getLoginHistory();
+
+        UUID loginId = UUID.randomUUID();
+        SessionKey key = new SessionKey(userId, ipAddress);
+        if (!cfg.getCoalesceWindow().isZero()) {
+            Session session = sessions.asMap().compute(key, (k, open) ->
+                    open == null
+                            ? new Session(loginId, now, 1)
+                            : new Session(open.loginId(), now, open.count() + 1));
+
+            if (!session.loginId().equals(loginId)) {
+                coalescedRows.increment();
+                return;
+            }
+        }
+
+        LoginHistoryBatchRepository.Login login = new LoginHistoryBatchRepository.Login(
+                loginId, userId, PROVIDER, now, ipAddress);
+
+        if (!cfg.isAsync()) {
+            write(List.of(login));
+            return;
+        }
+
+        if (queue.offer(login)) return;
+
+        if (cfg.getOverflowPolicy() == AuthProperties.OverflowPolicy.CALLER_RUNS) {
+            write(List.of(login));
+        } else {
+            droppedRows.increment();
+            // no row to coalesce into: the next login of this user+IP starts a new session
+            sessions.invalidate(key);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.login-history.flush-interval:1s}")
+    public void flush() {
+        // expires sessions whose window elapsed (Caffeine evicts lazily otherwise)
+        sessions.cleanUp();
+        drain();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        sessions.invalidateAll();
+        int queued = queue.size() + sessionUpdates.size();
+        drain();
+        if (queued > 0) log.info("Login history: flushed {} queued rows on shutdown", queued);
+    }
+
+    private void onSessionRemoved(SessionKey key, Session session, RemovalCause cause) {
+        // REPLACED = the session was extended by another login; a single login needs no update
+        if (cause == RemovalCause.REPLACED || session == null || session.count() == 1) return;
+
+        LoginHistoryBatchRepository.SessionUpdate update = new LoginHistoryBatchRepository.SessionUpdate(
+                session.loginId(), session.lastSeen(), session.count());
+
+        if (!properties.getLoginHistory().isAsync()) {
+            update(List.of(update));
+        } else if (!sessionUpdates.offer(update)) {
+            droppedRows.increment();
+        }
+    }
+
+    // synchronized: the scheduled flush and the shutdown flush must not interleave batches
+    private synchronized void drain() {
+        int batchSize = Math.max(1, properties.getLoginHistory().getBatchSize());
+        List<LoginHistoryBatchRepository.Login> batch = new ArrayList<>(Math.min(batchSize, queue.size() + 1));
+
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+
+        // after the inserts, so the first-login row of a session always exists before its update
+        List<LoginHistoryBatchRepository.SessionUpdate> updates = new ArrayList<>();
+        while (sessionUpdates.drainTo(updates, batchSize) > 0) {
+            update(updates);
+            updates.clear();
+        }
+    }
+
+    private void write(List<LoginHistoryBatchRepository.Login> batch) {
+        try {
+            flushTimer.record(() -> writeTransaction.executeWithoutResult(status -> batchRepository.insertAll(batch)));
+            writtenRows.increment(batch.size());
+        } catch (RuntimeException ex) {
+            // e.g. the user was deleted meanwhile (FK); the batch is not retried
+            failedRows.increment(batch.size());
+            log.warn("Login history: {} rows not written: {}", batch.size(), ex.getMessage());
+        }
+    }
+
+    private void update(List<LoginHistoryBatchRepository.SessionUpdate> batch) {
+        try {
+            flushTimer.record(() -> writeTransaction.executeWithoutResult(status -> batchRepository.updateSessions(batch)));
+        } catch (RuntimeException ex) {
+            failedRows.increment(batch.size());
+            log.warn("Login history: {} session updates not written: {}", batch.size(), ex.getMessage());
+        }
+    }
+}
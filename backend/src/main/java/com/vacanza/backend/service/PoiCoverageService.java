@@ -0,0 +1,143 @@
+package com.vacanza.backend.service;
+
+import com.vacanza.backend.config.PoiProperties;
+import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO;
+import com.vacanza.backend.repo.PoiBatchRepository;
+import com.vacanza.backend.repo.PoiIngestCoverageRepository;
+import com.vacanza.backend.spatial.GeoTile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Tile x category fetch bookkeeping (poi_ingest_coverage, poi.coverage.*).
+ *
+ * An area is ingested for a category when any of its coverage tiles was never fetched
+ * for that category or was fetched longer than ttl ago. Areas that really have no cafes
+ * are therefore not re-fetched on every request, and sparse areas still get fetched once.
+ * Tiles whose fetch hit the page limit are marked truncated and go stale after the shorter
+ * truncated-ttl, so dense areas are topped up periodically rather than on every request.
+ */
+@Service
+@RequiredArgsConstructor
+public class PoiCoverageService {
+
+    private final PoiIngestCoverageRepository coverageRepository;
+    private final PoiBatchRepository poiBatchRepository;
+    private final PoiProperties properties;
+
+    /**
+     * Inclusive block of coverage tiles.
+     */
+    public record TileRange(GeoTile min, GeoTile max) {
+
+        public long tileCount() {
+            return (long) (max.row() - min.row() + 1) * (max.col() - min.col() + 1);
+        }
+
+        public List<GeoTile> tiles() {
+            return IntStream.rangeClosed(min.row(), max.row()).boxed()
+                    .flatMap(r -> IntStream.rangeClosed(min.col(), max.col())
+                            .mapToObj(c -> new GeoTile(r, c)))
+                    .toList();
+        }
+    }
+
+    public TileRange rangeFor(PoiSearchInAreaRequestDTO.Bbox b) {
+        double size = tileSize();
+        return new TileRange(
+                GeoTile.of(b.getMinLat(), b.getMinLng(), size),
+                GeoTile.of(b.getMaxLat(), b.getMaxLng(), size)
+        );
+    }
+
+    public TileRange rangeFor(GeoTile tile) {
+        return new TileRange(tile, tile);
+    }
+
+    /**
+     * Whether ingest for this range is decided by coverage (enabled and small enough).
+     */
+    public boolean tracks(TileRange range) {
+        PoiProperties.Coverage cfg = properties.getCoverage();
+        return cfg.isEnabled() && range.tileCount() <= cfg.getMaxTiles();
+    }
+
+    /**
+     * The outer edges of the range; ingest runs on this so fetched tiles are fully covered.
+     */
+    public PoiSearchInAreaRequestDTO.Bbox bbox(TileRange range) {
+        double size = tileSize();
+        PoiSearchInAreaRequestDTO.Bbox min = range.min().bbox(size);
+        PoiSearchInAreaRequestDTO.Bbox max = range.max().bbox(size);
+        return new PoiSearchInAreaRequestDTO.Bbox(min.getMinLat(), min.getMinLng(), max.getMaxLat(), max.getMaxLng());
+    }
+
+    /**
+     * Categories with at least one tile in the range not fetched within ttl (truncated-ttl for truncated tiles).
+     */
+    public List<String> staleCategories(TileRange range, List<String> categories) {
+        if (categories.isEmpty()) return List.of();
+
+        PoiProperties.Coverage cfg = properties.getCoverage();
+        Instant now = Instant.now();
+        Instant fetchedAfter = now.minus(cfg.getTtl());
+        Instant truncatedFetchedAfter = now.minus(cfg.getTruncatedTtl());
+        Map<String, Long> fresh = coverageRepository.countFreshTilesByCategory(
+                        range.min().row(), range.max().row(),
+                        range.min().col(), range.max().col(),
+                        categories, fetchedAfter, truncatedFetchedAfter
+                ).stream()
+                .collect(Collectors.toMap(
+                        PoiIngestCoverageRepository.CategoryTileCount::getCategory,
+                        PoiIngestCoverageRepository.CategoryTileCount::getTileCount
+                ));
+
+        long tiles = range.tileCount();
+        return categories.stream()
+                .filter(c -> fresh.getOrDefault(c, 0L) < tiles)
+                .toList();
+    }
+
+    /**
+     * Records the range as fetched for the categories. Tiles overlapping a part whose fetch was cut off
+     * at the limit are recorded as truncated: they are not reported as complete for ttl, only for
+     * truncated-ttl, so the next request does not fetch the same first pages again.
+     */
+    public void markFetched(TileRange range, List<String> categories, PoiIngestCoordinator.RectIngest ingest) {
+        Instant now = Instant.now();
+        List<GeoTile> tiles = range.tiles();
+
+        List<String> complete = categories.stream()
+                .filter(c -> !ingest.truncatedParts().containsKey(c))
+                .toList();
+        poiBatchRepository.markCoverage(tiles, complete, now, false);
+
+        double size = tileSize();
+        for (String category : categories) {
+            List<PoiSearchInAreaRequestDTO.Bbox> truncated = ingest.truncatedParts().get(category);
+            if (truncated == null) continue;
+
+            Map<Boolean, List<GeoTile>> byTruncated = tiles.stream()
+                    .collect(Collectors.partitioningBy(
+                            t -> truncated.stream().anyMatch(part -> overlaps(t.bbox(size), part))));
+            poiBatchRepository.markCoverage(byTruncated.get(false), List.of(category), now, false);
+            poiBatchRepository.markCoverage(byTruncated.get(true), List.of(category), now, true);
+        }
+    }
+
+    // shared edges do not count
+    private static boolean overlaps(PoiSearchInAreaRequestDTO.Bbox a, PoiSearchInAreaRequestDTO.Bbox b) {
+        return a.getMinLat() < b.getMaxLat() && b.getMinLat() < a.getMaxLat()
+                && a.getMinLng() < b.getMaxLng() && b.getMinLng() < a.getMaxLng();
+    }
+
+    public double tileSize() {
+        return properties.getCoverage().getTileSizeDegrees();
+    }
+}
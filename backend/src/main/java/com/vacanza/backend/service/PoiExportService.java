@@ -0,0 +1,129 @@
+package com.vacanza.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO;
+import com.vacanza.backend.dto.response.PoiSearchInAreaResponseDTO;
+import com.vacanza.backend.repo.PoiSummary;
+import com.vacanza.backend.repo.PointOfInterestRepository;
+import com.vacanza.backend.spatial.GeoPolygon;
+import com.vacanza.backend.validation.PoiAreaRequestValidator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Bulk export of a whole area as NDJSON (POST /pois/export), one PoiSummaryDTO per line.
+ *
+ * Rows come from a read-only JPQL stream (server-side cursor, fetch size 500) and are written as they
+ * arrive, so memory stays flat regardless of the area size. No ingest, cache, paging or sort: the export
+ * returns what is stored, in DB order. The DB connection is held for the duration of the response.
+ *
+ * Metric: poi.export.rows
+ */
+@Service
+public class PoiExportService {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private final PointOfInterestRepository poiRepository;
+    private final PoiAreaRequestValidator validator;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter writer;
+    private final Counter exportedRows;
+
+    public PoiExportService(
+            PointOfInterestRepository poiRepository,
+            PoiAreaRequestValidator validator,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.poiRepository = poiRepository;
+        this.validator = validator;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writer = objectMapper.writerFor(PoiSearchInAreaResponseDTO.PoiSummaryDTO.class);
+        this.exportedRows = meterRegistry.counter("poi.export.rows");
+    }
+
+    /**
+     * Validates now (errors surface as normal 4xx), streams when the container writes the body.
+     * bbox / polygon / categories are honoured; page, limit, cursor, sort and cluster are ignored.
+     */
+    public StreamingResponseBody export(PoiSearchInAreaRequestDTO request) {
+
+        validator.validate(request);
+
+        GeoPolygon polygon = request.getSelectionType() == PoiSearchInAreaRequestDTO.SelectionType.POLYGON
+                ? new GeoPolygon(request.getPolygon())
+                : null;
+
+        PoiSearchInAreaRequestDTO.Bbox bbox = polygon != null ? polygon.bbox() : request.getBbox();
+
+        List<String> categories =
+                request.getCategories() == null
+                        ? List.of()
+                        : request.getCategories().stream()
+                        .map(String::toLowerCase)
+                        .distinct()
+                        .toList();
+
+        return out -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<PoiSummary> rows = stream(bbox, categories)) {
+                write(rows.iterator(), polygon, out);
+            } catch (IOException ex) {
+                // client went away: rollback closes the cursor
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    private Stream<PoiSummary> stream(PoiSearchInAreaRequestDTO.Bbox b, List<String> categories) {
+        if (categories.isEmpty()) {
+            return poiRepository.streamSummariesInBbox(
+                    b.getMinLat(), b.getMaxLat(),
+                    b.getMinLng(), b.getMaxLng()
+            );
+        }
+
+        return poiRepository.streamSummariesInBboxAndCategoryIn(
+                b.getMinLat(), b.getMaxLat(),
+                b.getMinLng(), b.getMaxLng(),
+                categories
+        );
+    }
+
+    private void write(Iterator<PoiSummary> rows, GeoPolygon polygon, OutputStream body) throws IOException {
+        OutputStream out = new BufferedOutputStream(body);
+        int written = 0;
+
+        while (rows.hasNext()) {
+            PoiSummary p = rows.next();
+            if (polygon != null && !polygon.contains(p.latitude(), p.longitude())) continue;
+
+            out.write(writer.writeValueAsBytes(PoiSearchService.toSummary(p)));
+            out.write('\n');
+
+            // let the client start consuming large exports early
+            if (++written % FLUSH_EVERY == 0) {
+                out.flush();
+                exportedRows.increment(FLUSH_EVERY);
+            }
+        }
+
+        out.flush();
+        exportedRows.increment(written % FLUSH_EVERY);
+    }
+}
@@ -0,0 +1,115 @@
+package com.vacanza.backend.service;
+
+import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Single-flight wrapper around PoiIngestService.
+ *
+ * Concurrent cold-area misses for the same (area, categories, limit) share one ingest:
+ * the first caller runs it, the others wait for its result instead of calling Geoapify again.
+ * Lives outside the @Transactional ingest, so waiters resume only after the rows are committed.
+ *
+ * Metric: poi.ingest.coalesced (callers that joined an in-flight ingest)
+ */
+@Component
+public class PoiIngestCoordinator {
+
+    private final PoiIngestService poiIngestService;
+    private final PoiIngestPlanner poiIngestPlanner;
+    private final Counter coalesced;
+
+    private final ConcurrentHashMap<String, CompletableFuture<PoiIngestService.Result>> inFlight = new ConcurrentHashMap<>();
+
+    public PoiIngestCoordinator(
+            PoiIngestService poiIngestService,
+            PoiIngestPlanner poiIngestPlanner,
+            MeterRegistry meterRegistry
+    ) {
+        this.poiIngestService = poiIngestService;
+        this.poiIngestPlanner = poiIngestPlanner;
+        this.coalesced = meterRegistry.counter("poi.ingest.coalesced");
+    }
+
+    /**
+     * saved = newly inserted rows; truncatedParts = per frontend category, the planned parts whose
+     * fetch hit the limit (the part may hold more POIs than were ingested).
+     */
+    public record RectIngest(int saved, Map<String, List<PoiSearchInAreaRequestDTO.Bbox>> truncatedParts) {
+    }
+
+    /**
+     * Ingest for a lat/lng rectangle, split into Geoapify rect filters by PoiIngestPlanner.
+     */
+    public RectIngest ingestRect(PoiSearchInAreaRequestDTO.Bbox b, List<String> frontendCategories, int limit) {
+        Map<String, PoiSearchInAreaRequestDTO.Bbox> parts = new LinkedHashMap<>();
+        for (PoiSearchInAreaRequestDTO.Bbox part : poiIngestPlanner.plan(b)) {
+            parts.put(rectFilter(part), part);
+        }
+
+        PoiIngestService.Result result = singleFlight(
+                key(rectFilter(b), frontendCategories, limit),
+                () -> poiIngestService.ingestAreas(List.copyOf(parts.keySet()), frontendCategories, limit)
+        );
+
+        Map<String, List<PoiSearchInAreaRequestDTO.Bbox>> truncatedParts = result.truncated().stream()
+                .collect(Collectors.groupingBy(
+                        PoiIngestService.AreaFetch::category,
+                        Collectors.mapping(f -> parts.get(f.filter()), Collectors.toList())
+                ));
+
+        return new RectIngest(result.saved(), truncatedParts);
+    }
+
+    private PoiIngestService.Result singleFlight(String key, Supplier<PoiIngestService.Result> ingest) {
+        CompletableFuture<PoiIngestService.Result> mine = new CompletableFuture<>();
+        CompletableFuture<PoiIngestService.Result> running = inFlight.putIfAbsent(key, mine);
+
+        if (running != null) {
+            coalesced.increment();
+            try {
+                return running.join();
+            } catch (CompletionException ex) {
+                // same failure as the leader (e.g. Geoapify error)
+                if (ex.getCause() instanceof RuntimeException re) throw re;
+                throw ex;
+            }
+        }
+
+        try {
+            PoiIngestService.Result result = ingest.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private static String key(String filter, List<String> frontendCategories, int limit) {
+        return filter + "|" + String.join(",", frontendCategories.stream().sorted().toList()) + "|" + limit;
+    }
+
+    private static String rectFilter(PoiSearchInAreaRequestDTO.Bbox b) {
+        return String.format(
+                Locale.US,
+                "rect:%f,%f,%f,%f",
+                b.getMinLng(), b.getMinLat(),
+                b.getMaxLng(), b.getMaxLat()
+        );
+    }
+}
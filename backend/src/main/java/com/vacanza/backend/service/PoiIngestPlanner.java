@@ -0,0 +1,63 @@
+package com.vacanza.backend.service;
+
+import com.vacanza.backend.config.PoiProperties;
+import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits an ingest rect into sub-rects so Geoapify's per-request limit applies per part,
+ * not to the whole viewport (poi.ingest.part-size-degrees / max-parts).
+ *
+ * Parts are an equal rows x cols grid; when the rect would need more than max-parts,
+ * the grid is scaled down keeping its aspect ratio.
+ */
+@Component
+@RequiredArgsConstructor
+public class PoiIngestPlanner {
+
+    private final PoiProperties properties;
+
+    public List<PoiSearchInAreaRequestDTO.Bbox> plan(PoiSearchInAreaRequestDTO.Bbox b) {
+        PoiProperties.Ingest cfg = properties.getIngest();
+
+        double height = b.getMaxLat() - b.getMinLat();
+        double width = b.getMaxLng() - b.getMinLng();
+
+        // small epsilon: a rect exactly N parts wide stays N parts
+        int rows = Math.max(1, (int) Math.ceil(height / cfg.getPartSizeDegrees() - 1e-9));
+        int cols = Math.max(1, (int) Math.ceil(width / cfg.getPartSizeDegrees() - 1e-9));
+
+        int maxParts = Math.max(1, cfg.getMaxParts());
+        if ((long) rows * cols > maxParts) {
+            double scale = Math.sqrt((double) maxParts / ((long) rows * cols));
+            rows = Math.max(1, (int) Math.floor(rows * scale));
+            cols = Math.max(1, (int) Math.floor(cols * scale));
+            while ((long) rows * cols > maxParts) {
+                if (rows >= cols) rows--;
+                else cols--;
+            }
+        }
+
+        if (rows == 1 && cols == 1) return List.of(b);
+
+        double partHeight = height / rows;
+        double partWidth = width / cols;
+
+        List<PoiSearchInAreaRequestDTO.Bbox> parts = new ArrayList<>(rows * cols);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                parts.add(new PoiSearchInAreaRequestDTO.Bbox(
+                        b.getMinLat() + r * partHeight,
+                        b.getMinLng() + c * partWidth,
+                        r == rows - 1 ? b.getMaxLat() : b.getMinLat() + (r + 1) * partHeight,
+                        c == cols - 1 ? b.getMaxLng() : b.getMinLng() + (c + 1) * partWidth
+                ));
+            }
+        }
+        return parts;
+    }
+}
@@ -1,14 +1,24 @@
 package com.vacanza.backend.service;
 
+import com.vacanza.backend.config.PoiProperties;
 import com.vacanza.backend.entity.PointOfInterest;
+import com.vacanza.backend.event.PoisIngestedEvent;
 import com.vacanza.backend.integration.GeoapifyClient;
 import com.vacanza.backend.integration.GeoapifyResponse;
+import com.vacanza.backend.repo.PoiBatchRepository;
 import com.vacanza.backend.repo.PointOfInterestRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -16,76 +26,154 @@ public class PoiIngestService {
 
     private final GeoapifyClient geoapifyClient;
     private final PointOfInterestRepository poiRepository;
+    private final PoiBatchRepository poiBatchRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final PoiProperties properties;
 
-    // 🔥 MULTI CATEGORY INGEST
-    @Transactional
-    public int ingestMultipleCategories(
-            String filter,
+    private record FetchRequest(String filter, String geoapifyCategory, String internalCategory) {
+    }
+
+    private record Fetched(FetchRequest request, List<PointOfInterest> pois, boolean truncated) {
+    }
+
+    /**
+     * One (filter, frontend category) fetch.
+     */
+    public record AreaFetch(String filter, String category) {
+    }
+
+    /**
+     * saved = newly inserted rows; truncated = fetches that stopped at limit x max-pages,
+     * so the area may hold more POIs of that category than were fetched.
+     */
+    public record Result(int saved, List<AreaFetch> truncated) {
+    }
+
+    // 🔥 MULTI AREA x MULTI CATEGORY INGEST
+    // (filter, category) requests are fetched concurrently (no DB connection held), then saved in one short transaction
+    public Result ingestAreas(
+            List<String> filters,
             List<String> frontendCategories,
             int limit
     ) {
 
-        int totalSaved = 0;
-
+        List<FetchRequest> requests = new ArrayList<>();
         for (String frontendCategory : frontendCategories) {
+            String geoapifyCategory = mapFrontendToGeoapify(frontendCategory);
+            if (geoapifyCategory == null) continue;
+            for (String filter : filters) {
+                requests.add(new FetchRequest(filter, geoapifyCategory, frontendCategory));
+            }
+        }
 
-            String geoapifyCategory =
-                    mapFrontendToGeoapify(frontendCategory);
+        List<Fetched> results = Flux.fromIterable(requests)
+                // sequential merge keeps category order, so the first category still wins on duplicates
+                .flatMapSequential(
+                        r -> fetchSingleCategory(r, limit),
+                        Math.max(1, properties.getIngest().getConcurrency())
+                )
+                .collectList()
+                .block();
 
-            if (geoapifyCategory == null) continue;
+        if (results == null) return new Result(0, List.of());
 
-            totalSaved += ingestSingleCategory(
-                    filter,
-                    geoapifyCategory,
-                    frontendCategory,
-                    limit
-            );
-        }
+        List<AreaFetch> truncated = results.stream()
+                .filter(Fetched::truncated)
+                .map(f -> new AreaFetch(f.request().filter(), f.request().internalCategory()))
+                .toList();
+
+        List<PointOfInterest> fetched = results.stream()
+                .flatMap(f -> f.pois().stream())
+                .toList();
+
+        if (fetched.isEmpty()) return new Result(0, truncated);
+
+        List<PointOfInterest> saved = transactionTemplate.execute(status -> persist(fetched));
+        return new Result(saved == null ? 0 : saved.size(), truncated);
+    }
 
-        return totalSaved;
+    // 🔥 TEK CATEGORY FETCH
+    private Mono<Fetched> fetchSingleCategory(FetchRequest r, int limit) {
+
+        int maxPages = Math.max(1, properties.getIngest().getMaxPages());
+        return fetchPages(r.filter(), r.geoapifyCategory(), limit, 0, maxPages)
+                .collectList()
+                .map(features -> new Fetched(
+                        r,
+                        features.stream()
+                                .map(f -> toPoi(f, r.internalCategory()))
+                                .filter(Objects::nonNull)
+                                .toList(),
+                        // every page came back full: there may be more
+                        features.size() >= (long) limit * maxPages
+                ));
     }
 
-    // 🔥 TEK CATEGORY INGEST
-    private int ingestSingleCategory(
+    // next page (offset + limit) only when this one came back full
+    private Flux<GeoapifyResponse.Feature> fetchPages(
             String filter,
             String geoapifyCategory,
-            String internalCategory,
-            int limit
+            int limit,
+            int offset,
+            int pagesLeft
     ) {
 
-        GeoapifyResponse resp = geoapifyClient
-                .search(filter, List.of(geoapifyCategory), limit)
-                .block();
+        return geoapifyClient
+                .search(filter, List.of(geoapifyCategory), limit, offset)
+                .flatMapMany(resp -> {
+                    List<GeoapifyResponse.Feature> features =
+                            resp.getFeatures() == null ? List.of() : resp.getFeatures();
 
-        if (resp == null || resp.getFeatures() == null) return 0;
+                    Flux<GeoapifyResponse.Feature> page = Flux.fromIterable(features);
+                    if (features.size() < limit || pagesLeft <= 1) return page;
 
-        int saved = 0;
+                    return page.concatWith(fetchPages(filter, geoapifyCategory, limit, offset + limit, pagesLeft - 1));
+                });
+    }
 
-        for (GeoapifyResponse.Feature f : resp.getFeatures()) {
+    private PointOfInterest toPoi(GeoapifyResponse.Feature f, String internalCategory) {
+
+        if (f.getProperties() == null || f.getGeometry() == null) return null;
+
+        String externalId = f.getProperties().getPlace_id();
+        if (externalId == null) return null;
+
+        var coords = f.getGeometry().getCoordinates();
+        if (coords == null || coords.size() < 2) return null;
+
+        PointOfInterest poi = new PointOfInterest();
+        poi.setExternalId(externalId);
+        poi.setName(
+                f.getProperties().getName() != null
+                        ? f.getProperties().getName()
+                        : "Unnamed"
+        );
+        poi.setLatitude(coords.get(1));
+        poi.setLongitude(coords.get(0));
+        poi.setCategory(internalCategory);
+        poi.setRating(f.getProperties().getRating());
+        poi.setPriceLevel(f.getProperties().getPrice_level());
+        return poi;
+    }
 
-            if (f.getProperties() == null || f.getGeometry() == null) continue;
+    // runs inside the write transaction: one lookup + one batch insert
+    private List<PointOfInterest> persist(List<PointOfInterest> fetched) {
 
-            String externalId = f.getProperties().getPlace_id();
-            if (externalId == null || poiRepository.existsByExternalId(externalId)) continue;
+        Map<String, PointOfInterest> byExternalId = new LinkedHashMap<>();
+        for (PointOfInterest poi : fetched) {
+            byExternalId.putIfAbsent(poi.getExternalId(), poi);
+        }
 
-            var coords = f.getGeometry().getCoordinates();
-            if (coords == null || coords.size() < 2) continue;
+        poiRepository.findExistingExternalIds(byExternalId.keySet())
+                .forEach(byExternalId::remove);
 
-            PointOfInterest poi = new PointOfInterest();
-            poi.setExternalId(externalId);
-            poi.setName(
-                    f.getProperties().getName() != null
-                            ? f.getProperties().getName()
-                            : "Unnamed"
-            );
-            poi.setLatitude(coords.get(1));
-            poi.setLongitude(coords.get(0));
-            poi.setCategory(internalCategory);
-            poi.setRating(f.getProperties().getRating());
-            poi.setPriceLevel(f.getProperties().getPrice_level());
+        List<PointOfInterest> saved =
+                poiBatchRepository.insertIgnoringDuplicates(new ArrayList<>(byExternalId.values()));
 
-            poiRepository.save(poi);
-            saved++;
+        // index & co. pick these up after commit
+        if (!saved.isEmpty()) {
+            eventPublisher.publishEvent(new PoisIngestedEvent(saved));
         }
 
         return saved;
@@ -0,0 +1,67 @@
+package com.vacanza.backend.service;
+
+import com.vacanza.backend.dto.request.PoiNameSearchRequestDTO;
+import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO;
+import com.vacanza.backend.dto.response.PoiNameSearchResponseDTO;
+import com.vacanza.backend.repo.PoiNameSearchRepository;
+import com.vacanza.backend.repo.PoiSummary;
+import com.vacanza.backend.validation.PoiAreaRequestValidator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Name search / typeahead (GET /pois/search), optionally inside a bbox.
+ *
+ * The query is split on whitespace (at most 5 terms, checked by the validator); every term must occur
+ * in the name. Terms are compared case-insensitively by the database, see PoiNameSearchRepository.
+ * Queries without a term of 3+ characters only match name prefixes (trigram indexes need 3+ characters).
+ */
+@Service
+@RequiredArgsConstructor
+public class PoiNameSearchService {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final PoiNameSearchRepository nameSearchRepository;
+    private final PoiAreaRequestValidator validator;
+
+    public PoiNameSearchResponseDTO search(PoiNameSearchRequestDTO request) {
+
+        validator.validate(request);
+
+        String query = request.getQ().trim().replaceAll("\\s+", " ");
+        List<String> terms = Arrays.stream(query.split(" "))
+                .distinct()
+                .toList();
+
+        int limit = request.getLimit() != null ? request.getLimit() : DEFAULT_LIMIT;
+
+        PoiSearchInAreaRequestDTO.Bbox bbox = request.getMinLat() != null
+                ? new PoiSearchInAreaRequestDTO.Bbox(request.getMinLat(), request.getMinLng(), request.getMaxLat(), request.getMaxLng())
+                : null;
+
+        List<String> categories =
+                request.getCategories() == null
+                        ? List.of()
+                        : request.getCategories().stream()
+                        .map(String::toLowerCase)
+                        .distinct()
+                        .toList();
+
+        // e.g. "st ab": no term the trigram index can look up
+        boolean prefixOnly = terms.stream()
+                .noneMatch(t -> t.length() >= PoiNameSearchRepository.MIN_TRIGRAM_LENGTH);
+
+        List<PoiSummary> pois = nameSearchRepository.search(
+                query, terms, prefixOnly, bbox, categories, limit
+        );
+
+        return PoiNameSearchResponseDTO.builder()
+                .count(pois.size())
+                .pois(pois.stream().map(PoiSearchService::toSummary).toList())
+                .build();
+    }
+}
@@ -0,0 +1,213 @@
+package com.vacanza.backend.service;
+
+import com.vacanza.backend.config.PoiProperties;
+import com.vacanza.backend.dto.request.PoiNearbyRequestDTO;
+import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO;
+import com.vacanza.backend.dto.response.PoiNearbyResponseDTO;
+import com.vacanza.backend.repo.PoiSpatialRepository;
+import com.vacanza.backend.repo.PoiSummary;
+import com.vacanza.backend.repo.PointOfInterestRepository;
+import com.vacanza.backend.spatial.GeoDistance;
+import com.vacanza.backend.spatial.PoiSpatialIndex;
+import com.vacanza.backend.validation.PoiAreaRequestValidator;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Nearest-N / within-radius search around a point (GET /pois/nearby), in true (haversine) distance order.
+ *
+ * - PostGIS backend: one ST_DWithin + KNN (<->) query
+ * - in-memory index / plain DB: rings starting at poi.nearby.initial-radius-meters, doubled until
+ *   limit POIs lie inside the ring (then no POI outside can be closer) or the max radius is reached.
+ *   The first ring loads the box around the circle; each larger one only loads the strips between
+ *   the previous box and its own, so every POI is fetched and measured once.
+ *
+ * Metric: poi.nearby.rings (rings searched per request)
+ */
+@Service
+public class PoiNearbyService {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private record Hit(PoiSummary poi, double distanceMeters) {
+    }
+
+    // ties: same poiId order as search-in-area
+    private static final Comparator<Hit> BY_DISTANCE = Comparator
+            .comparingDouble(Hit::distanceMeters)
+            .thenComparing(h -> h.poi().poiId().toString());
+
+    private final PointOfInterestRepository poiRepository;
+    private final PoiSpatialIndex spatialIndex;
+    private final PoiSpatialRepository spatialRepository;
+    private final PoiAreaRequestValidator validator;
+    private final PoiProperties properties;
+    private final DistributionSummary rings;
+
+    public PoiNearbyService(
+            PointOfInterestRepository poiRepository,
+            PoiSpatialIndex spatialIndex,
+            PoiSpatialRepository spatialRepository,
+            PoiAreaRequestValidator validator,
+            PoiProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.poiRepository = poiRepository;
+        this.spatialIndex = spatialIndex;
+        this.spatialRepository = spatialRepository;
+        this.validator = validator;
+        this.properties = properties;
+        this.rings = meterRegistry.summary("poi.nearby.rings");
+    }
+
+    public PoiNearbyResponseDTO nearby(PoiNearbyRequestDTO request) {
+
+        validator.validate(request);
+
+        double lat = request.getLat();
+        double lng = request.getLng();
+        int limit = request.getLimit() != null ? request.getLimit() : DEFAULT_LIMIT;
+
+        List<String> categories =
+                request.getCategories() == null
+                        ? List.of()
+                        : request.getCategories().stream()
+                        .map(String::toLowerCase)
+                        .distinct()
+                        .toList();
+
+        double maxRadius = request.getRadiusMeters() != null
+                ? request.getRadiusMeters()
+                : properties.getNearby().getMaxRadiusMeters();
+
+        boolean postgis = properties.getSearch().getBackend() == PoiProperties.SpatialBackend.POSTGIS;
+
+        double radius;
+        List<Hit> hits;
+
+        if (!spatialIndex.isReady() && postgis) {
+            radius = maxRadius;
+            hits = withDistance(spatialRepository.findWithinRadius(lat, lng, maxRadius, categories, limit), lat, lng);
+            rings.record(1);
+        } else {
+            radius = Math.min(properties.getNearby().getInitialRadiusMeters(), maxRadius);
+            int searched = 1;
+            PoiSearchInAreaRequestDTO.Bbox box = GeoDistance.boundingBox(lat, lng, radius);
+            List<Hit> loaded = withDistance(fetchByBbox(box, categories), lat, lng);
+
+            while (countWithin(loaded, radius) < limit && radius < maxRadius) {
+                radius = Math.min(radius * 2, maxRadius);
+                searched++;
+                PoiSearchInAreaRequestDTO.Bbox next = GeoDistance.boundingBox(lat, lng, radius);
+                loaded.addAll(withDistance(fetchAnnulus(box, next, categories), lat, lng));
+                box = next;
+            }
+            rings.record(searched);
+
+            double finalRadius = radius;
+            hits = loaded.stream().filter(h -> h.distanceMeters() <= finalRadius).toList();
+        }
+
+        List<PoiNearbyResponseDTO.NearbyPoiDTO> pois = hits.stream()
+                .sorted(BY_DISTANCE)
+                .limit(limit)
+                .map(h -> PoiNearbyResponseDTO.NearbyPoiDTO.builder()
+                        .poi(PoiSearchService.toSummary(h.poi()))
+                        .distanceMeters(h.distanceMeters())
+                        .build())
+                .toList();
+
+        return PoiNearbyResponseDTO.builder()
+                .count(pois.size())
+                .radiusMeters(radius)
+                .pois(pois)
+                .build();
+    }
+
+    // ================= HELPERS =================
+
+    private static int countWithin(List<Hit> hits, double radiusMeters) {
+        int n = 0;
+        for (Hit hit : hits) {
+            if (hit.distanceMeters() <= radiusMeters) n++;
+        }
+        return n;
+    }
+
+    /**
+     * POIs in outer but not in inner (inner lies inside outer): south and north strips over the full
+     * width, west and east strips between them. Bbox queries include their edges, so points on an
+     * inner edge come back again and are dropped by poiId.
+     */
+    private List<PoiSummary> fetchAnnulus(
+            PoiSearchInAreaRequestDTO.Bbox inner,
+            PoiSearchInAreaRequestDTO.Bbox outer,
+            List<String> categories
+    ) {
+        List<PoiSearchInAreaRequestDTO.Bbox> strips = new ArrayList<>(4);
+        if (outer.getMinLat() < inner.getMinLat()) {
+            strips.add(new PoiSearchInAreaRequestDTO.Bbox(outer.getMinLat(), outer.getMinLng(), inner.getMinLat(), outer.getMaxLng()));
+        }
+        if (outer.getMaxLat() > inner.getMaxLat()) {
+            strips.add(new PoiSearchInAreaRequestDTO.Bbox(inner.getMaxLat(), outer.getMinLng(), outer.getMaxLat(), outer.getMaxLng()));
+        }
+        if (outer.getMinLng() < inner.getMinLng()) {
+            strips.add(new PoiSearchInAreaRequestDTO.Bbox(inner.getMinLat(), outer.getMinLng(), inner.getMaxLat(), inner.getMinLng()));
+        }
+        if (outer.getMaxLng() > inner.getMaxLng()) {
+            strips.add(new PoiSearchInAreaRequestDTO.Bbox(inner.getMinLat(), inner.getMaxLng(), inner.getMaxLat(), outer.getMaxLng()));
+        }
+
+        List<PoiSummary> pois = new ArrayList<>();
+        for (PoiSearchInAreaRequestDTO.Bbox strip : strips) {
+            for (PoiSummary p : fetchByBbox(strip, categories)) {
+                if (!inside(inner, p)) pois.add(p);
+            }
+        }
+
+        // the strips share their corner edges too
+        Set<UUID> seen = new HashSet<>();
+        pois.removeIf(p -> !seen.add(p.poiId()));
+        return pois;
+    }
+
+    private static boolean inside(PoiSearchInAreaRequestDTO.Bbox b, PoiSummary p) {
+        return p.latitude() >= b.getMinLat() && p.latitude() <= b.getMaxLat()
+                && p.longitude() >= b.getMinLng() && p.longitude() <= b.getMaxLng();
+    }
+
+    private static List<Hit> withDistance(List<PoiSummary> pois, double lat, double lng) {
+        List<Hit> hits = new ArrayList<>(pois.size());
+        for (PoiSummary p : pois) {
+            hits.add(new Hit(p, GeoDistance.haversineMeters(lat, lng, p.latitude(), p.longitude())));
+        }
+        return hits;
+    }
+
+    private List<PoiSummary> fetchByBbox(PoiSearchInAreaRequestDTO.Bbox b, List<String> categories) {
+        if (spatialIndex.isReady()) {
+            return spatialIndex.query(b, categories);
+        }
+
+        if (categories.isEmpty()) {
+            return poiRepository.findSummariesInBbox(
+                    b.getMinLat(), b.getMaxLat(),
+                    b.getMinLng(), b.getMaxLng()
+            );
+        }
+
+        return poiRepository.findSummariesInBboxAndCategoryIn(
+                b.getMinLat(), b.getMaxLat(),
+                b.getMinLng(), b.getMaxLng(),
+                categories
+        );
+    }
+}
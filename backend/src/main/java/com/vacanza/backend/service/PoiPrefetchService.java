@@ -0,0 +1,170 @@
+package com.vacanza.backend.service;
+
+import com.vacanza.backend.config.PoiConfig;
+import com.vacanza.backend.config.PoiProperties;
+import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO;
+import com.vacanza.backend.spatial.GeoTile;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Background warm-up ingest (poi.prefetch.*).
+ *
+ * Each run collects coverage tiles of the configured regions plus the most requested tiles
+ * since the previous run, skips the ones whose coverage is still fresh and ingests the rest
+ * through PoiIngestCoordinator. Users then rarely hit the synchronous ingest in search-in-area.
+ *
+ * Runs on its own single-thread scheduler (poiPrefetchScheduler), so a long run never delays the
+ * other @Scheduled jobs; Geoapify calls are paced by GeoapifyRateLimiter like every other ingest.
+ *
+ * Metrics: poi.prefetch.tiles{result=ingested|fresh|failed}, poi.prefetch.pois, poi.prefetch.pending
+ */
+@Slf4j
+@Service
+public class PoiPrefetchService {
+
+    // demand map is bounded; new tiles are ignored until the next run drains it
+    private static final int MAX_TRACKED_TILES = 10_000;
+
+    private final PoiIngestCoordinator poiIngestCoordinator;
+    private final PoiCoverageService coverageService;
+    private final PoiProperties properties;
+
+    private final Map<GeoTile, LongAdder> demand = new ConcurrentHashMap<>();
+
+    private final Counter ingestedTiles;
+    private final Counter freshTiles;
+    private final Counter failedTiles;
+    private final Counter ingestedPois;
+    private final AtomicInteger pending = new AtomicInteger();
+
+    public PoiPrefetchService(
+            PoiIngestCoordinator poiIngestCoordinator,
+            PoiCoverageService coverageService,
+            PoiProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.poiIngestCoordinator = poiIngestCoordinator;
+        this.coverageService = coverageService;
+        this.properties = properties;
+        this.ingestedTiles = meterRegistry.counter("poi.prefetch.tiles", "result", "ingested");
+        this.freshTiles = meterRegistry.counter("poi.prefetch.tiles", "result", "fresh");
+        this.failedTiles = meterRegistry.counter("poi.prefetch.tiles", "result", "failed");
+        this.ingestedPois = meterRegistry.counter("poi.prefetch.pois");
+        meterRegistry.gauge("poi.prefetch.pending", pending);
+    }
+
+    /**
+     * Called per search-in-area request; counts the viewport centre tile.
+     */
+    public void recordDemand(PoiSearchInAreaRequestDTO.Bbox bbox) {
+        if (!properties.getPrefetch().isEnabled()) return;
+
+        GeoTile tile = GeoTile.of(
+                (bbox.getMinLat() + bbox.getMaxLat()) / 2,
+                (bbox.getMinLng() + bbox.getMaxLng()) / 2,
+                tileSize()
+        );
+
+        LongAdder count = demand.get(tile);
+        if (count == null) {
+            if (demand.size() >= MAX_TRACKED_TILES) return;
+            count = demand.computeIfAbsent(tile, t -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    @Scheduled(
+            fixedDelayString = "${poi.prefetch.interval:30m}",
+            initialDelayString = "${poi.prefetch.initial-delay:1m}",
+            scheduler = PoiConfig.PREFETCH_SCHEDULER
+    )
+    public void run() {
+        PoiProperties.Prefetch cfg = properties.getPrefetch();
+        if (!cfg.isEnabled()) return;
+
+        List<GeoTile> due = new ArrayList<>();
+        for (GeoTile tile : candidates(cfg)) {
+            if (due.size() >= cfg.getMaxTilesPerRun()) break;
+
+            if (coverageService.staleCategories(coverageService.rangeFor(tile), cfg.getCategories()).isEmpty()) {
+                freshTiles.increment();
+                continue;
+            }
+            due.add(tile);
+        }
+
+        if (due.isEmpty()) return;
+
+        long started = System.currentTimeMillis();
+        int saved = 0;
+
+        pending.set(due.size());
+        try {
+            for (GeoTile tile : due) {
+                try {
+                    PoiCoverageService.TileRange range = coverageService.rangeFor(tile);
+                    List<String> stale = coverageService.staleCategories(range, cfg.getCategories());
+
+                    PoiIngestCoordinator.RectIngest ingest =
+                            poiIngestCoordinator.ingestRect(coverageService.bbox(range), stale, cfg.getLimit());
+                    coverageService.markFetched(range, stale, ingest);
+                    int n = ingest.saved();
+                    ingestedTiles.increment();
+                    ingestedPois.increment(n);
+                    saved += n;
+                } catch (RuntimeException ex) {
+                    failedTiles.increment();
+                    log.warn("POI prefetch failed for tile {}: {}", tile, ex.getMessage());
+                }
+
+                pending.decrementAndGet();
+            }
+        } finally {
+            pending.set(0);
+        }
+
+        log.info("POI prefetch: {} tiles, {} new pois ({} ms)",
+                due.size(), saved, System.currentTimeMillis() - started);
+    }
+
+    // configured regions first, then hottest demand tiles; demand restarts from zero each run
+    private Set<GeoTile> candidates(PoiProperties.Prefetch cfg) {
+        Set<GeoTile> tiles = new LinkedHashSet<>();
+
+        for (PoiProperties.Region r : cfg.getRegions()) {
+            tiles.addAll(GeoTile.covering(
+                    new PoiSearchInAreaRequestDTO.Bbox(r.getMinLat(), r.getMinLng(), r.getMaxLat(), r.getMaxLng()),
+                    tileSize()
+            ));
+        }
+
+        Map<GeoTile, Long> snapshot = new ConcurrentHashMap<>();
+        demand.forEach((tile, count) -> snapshot.put(tile, count.sum()));
+        demand.clear();
+
+        snapshot.entrySet().stream()
+                .sorted(Map.Entry.<GeoTile, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(cfg.getTopTiles())
+                .forEach(e -> tiles.add(e.getKey()));
+
+        return tiles;
+    }
+
+    private double tileSize() {
+        return coverageService.tileSize();
+    }
+}
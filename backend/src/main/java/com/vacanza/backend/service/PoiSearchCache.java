@@ -0,0 +1,127 @@
+package com.vacanza.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vacanza.backend.config.PoiProperties;
+import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO;
+import com.vacanza.backend.event.PoisIngestedEvent;
+import com.vacanza.backend.repo.PoiSummary;
+import com.vacanza.backend.spatial.GeoTile;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU + TTL cache of search-in-area candidates (BBOX selections only), opt-in via poi.cache.enabled.
+ *
+ * Meant for small, hot viewports: a hit skips the DB entirely, but a miss loads every POI of the snapped
+ * bbox and the page is sorted/counted in Java. With the cache off, search-in-area pages and counts in SQL.
+ *
+ * The viewport is snapped outwards to poi.cache.tile-size-degrees, so nearby pans of the
+ * same city centre share one entry. An entry holds every POI of the snapped bbox for the
+ * categories; PoiSearchService filters it back to the requested bbox before counting and
+ * paging, so cached and uncached responses are the same.
+ * Entries whose snapped bbox contains a newly ingested POI are dropped.
+ *
+ * Loading (which may ingest) runs outside the cache: getIfPresent, load, put. A load that
+ * overlapped an ingest is not stored, it may have missed the new rows.
+ *
+ * Metrics: cache.gets{result=hit|miss}, cache.evictions, cache.size (cache=poi.search-in-area)
+ */
+@Component
+public class PoiSearchCache {
+
+    private final PoiProperties properties;
+    private final Cache<Key, List<PoiSummary>> cache;
+
+    // bumped by every ingest; see generation() / put()
+    private final AtomicLong generation = new AtomicLong();
+
+    public PoiSearchCache(PoiProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getCache().getMaxPois())
+                .weigher((Key k, List<PoiSummary> v) -> Math.max(1, v.size()))
+                .expireAfterWrite(properties.getCache().getTtl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "poi.search-in-area");
+    }
+
+    public record Key(
+            GeoTile minTile,
+            GeoTile maxTile,
+            List<String> categories
+    ) {
+    }
+
+    public boolean isEnabled() {
+        return properties.getCache().isEnabled();
+    }
+
+    public Key keyFor(PoiSearchInAreaRequestDTO.Bbox bbox, List<String> categories) {
+        double size = tileSize();
+        return new Key(
+                GeoTile.of(bbox.getMinLat(), bbox.getMinLng(), size),
+                GeoTile.of(bbox.getMaxLat(), bbox.getMaxLng(), size),
+                categories.stream().sorted().toList()
+        );
+    }
+
+    /**
+     * The bbox the cached candidates are loaded for.
+     */
+    public PoiSearchInAreaRequestDTO.Bbox snappedBbox(Key key) {
+        double size = tileSize();
+        PoiSearchInAreaRequestDTO.Bbox min = key.minTile().bbox(size);
+        PoiSearchInAreaRequestDTO.Bbox max = key.maxTile().bbox(size);
+        return new PoiSearchInAreaRequestDTO.Bbox(min.getMinLat(), min.getMinLng(), max.getMaxLat(), max.getMaxLng());
+    }
+
+    public List<PoiSummary> getIfPresent(Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Read before loading; pass to put().
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Stores the candidates unless an ingest happened since loadGeneration was read.
+     */
+    public void put(Key key, List<PoiSummary> candidates, long loadGeneration) {
+        if (generation.get() != loadGeneration) return;
+        cache.put(key, List.copyOf(candidates));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPoisIngested(PoisIngestedEvent event) {
+        if (event.pois().isEmpty()) return;
+        generation.incrementAndGet();
+        if (cache.estimatedSize() == 0) return;
+
+        double size = tileSize();
+        List<GeoTile> touched = event.pois().stream()
+                .filter(p -> p.getLatitude() != null && p.getLongitude() != null)
+                .map(p -> GeoTile.of(p.getLatitude(), p.getLongitude(), size))
+                .distinct()
+                .toList();
+
+        cache.asMap().keySet().removeIf(key -> touched.stream().anyMatch(t ->
+                t.row() >= key.minTile().row() && t.row() <= key.maxTile().row()
+                        && t.col() >= key.minTile().col() && t.col() <= key.maxTile().col()
+        ));
+    }
+
+    private double tileSize() {
+        return properties.getCache().getTileSizeDegrees();
+    }
+}
@@ -0,0 +1,49 @@
+package com.vacanza.backend.service;
+
+import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor for search-in-area (nextCursor / cursor).
+ *
+ * Holds the sort key + poiId of the last returned row:
+ * - RATING_DESC        -> key = coalesce(rating, -1)
+ * - DISTANCE_TO_CENTER -> key = squared degree distance to bbox center
+ *
+ * The key is stored as raw double bits so the seek compares exactly
+ * the value the DB / Java comparator produced.
+ */
+public record PoiSearchCursor(PoiSearchInAreaRequestDTO.SortType sort, double key, UUID poiId) {
+
+    public String encode() {
+        String raw = sort.name() + ":" + Long.toHexString(Double.doubleToLongBits(key)) + ":" + poiId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PoiSearchCursor decode(String cursor, PoiSearchInAreaRequestDTO.SortType expectedSort) {
+        PoiSearchCursor decoded;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+
+            decoded = new PoiSearchCursor(
+                    PoiSearchInAreaRequestDTO.SortType.valueOf(parts[0]),
+                    Double.longBitsToDouble(Long.parseUnsignedLong(parts[1], 16)),
+                    UUID.fromString(parts[2])
+            );
+        } catch (RuntimeException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CURSOR_INVALID: cursor is malformed");
+        }
+
+        if (decoded.sort() != expectedSort) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "CURSOR_SORT_MISMATCH: cursor was created for sort=" + decoded.sort());
+        }
+        return decoded;
+    }
+}
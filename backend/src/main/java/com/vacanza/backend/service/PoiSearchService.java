@@ -1,11 +1,20 @@
 package com.vacanza.backend.service;
 
+import com.vacanza.backend.config.PoiProperties;
 import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO;
 import com.vacanza.backend.dto.response.PoiSearchInAreaResponseDTO;
-import com.vacanza.backend.entity.PointOfInterest;
+import com.vacanza.backend.repo.PoiClusterRepository;
+import com.vacanza.backend.repo.PoiSpatialRepository;
+import com.vacanza.backend.repo.PoiSummary;
 import com.vacanza.backend.repo.PointOfInterestRepository;
+import com.vacanza.backend.spatial.GeoPolygon;
+import com.vacanza.backend.spatial.GeoTile;
+import com.vacanza.backend.spatial.PoiCategoryTileCounts;
+import com.vacanza.backend.spatial.PoiSpatialIndex;
 import com.vacanza.backend.validation.PoiAreaRequestValidator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -18,12 +27,52 @@ import java.util.stream.Collectors;
 public class PoiSearchService {
 
     private final PointOfInterestRepository poiRepository;
-    private final PoiIngestService poiIngestService;
+    private final PoiIngestCoordinator poiIngestCoordinator;
     private final PoiAreaRequestValidator validator;
+    private final PoiSpatialIndex spatialIndex;
+    private final PoiSpatialRepository spatialRepository;
+    private final PoiProperties properties;
+    private final PoiSearchCache searchCache;
+    private final PoiPrefetchService prefetchService;
+    private final PoiCoverageService coverageService;
+    private final PoiClusterRepository clusterRepository;
+    private final PoiCategoryTileCounts tileCounts;
 
     private static final int DEFAULT_PAGE = 0;
     private static final int DEFAULT_LIMIT = 200;
     private static final int INGEST_LIMIT = 20;
+    private static final double MIN_CLUSTER_CELL = 1e-5;
+
+    // Postgres orders uuid bytewise == lowercase hex string order (UUID.compareTo is signed)
+    private static final Comparator<PoiSummary> BY_POI_ID =
+            Comparator.comparing(p -> p.poiId().toString());
+
+    /**
+     * Normalized search-in-area parameters (defaults applied, categories lower-cased).
+     */
+    private record AreaQuery(
+            PoiSearchInAreaRequestDTO.Bbox bbox,
+            GeoPolygon polygon,
+            List<PoiSearchInAreaRequestDTO.LatLng> polygonPoints,
+            List<String> categories,
+            PoiSearchInAreaRequestDTO.SortType sort,
+            PoiSearchCursor cursor,
+            int page,
+            int limit,
+            Double clusterCell // null => single points
+    ) {
+    }
+
+    /**
+     * Running totals of one cluster cell.
+     */
+    private static final class ClusterBucket {
+        int count;
+        double sumLat;
+        double sumLng;
+        final Map<String, Integer> countsByCategory = new HashMap<>();
+        PoiSummary representative;
+    }
 
     public PoiSearchInAreaResponseDTO searchInArea(PoiSearchInAreaRequestDTO request) {
 
@@ -32,7 +81,20 @@ public class PoiSearchService {
         int page = request.getPage() != null ? request.getPage() : DEFAULT_PAGE;
         int limit = request.getLimit() != null ? request.getLimit() : DEFAULT_LIMIT;
 
-        PoiSearchInAreaRequestDTO.Bbox bbox = resolveBbox(request);
+        PoiSearchInAreaRequestDTO.SortType sortType =
+                request.getSort() != null ? request.getSort() : PoiSearchInAreaRequestDTO.SortType.RATING_DESC;
+
+        // cursor mode: seek past the last row of the previous page, page is ignored
+        String rawCursor = request.getCursor() != null && !request.getCursor().isBlank() ? request.getCursor() : null;
+        PoiSearchCursor cursor = rawCursor != null ? PoiSearchCursor.decode(rawCursor, sortType) : null;
+
+        // POLYGON: exact containment on top of the polygon's bbox
+        GeoPolygon polygon = request.getSelectionType() == PoiSearchInAreaRequestDTO.SelectionType.POLYGON
+                ? new GeoPolygon(request.getPolygon())
+                : null;
+
+        PoiSearchInAreaRequestDTO.Bbox bbox = polygon != null ? polygon.bbox() : request.getBbox();
+        prefetchService.recordDemand(bbox);
 
         List<String> frontendCategories =
                 request.getCategories() == null
@@ -42,173 +104,558 @@ public class PoiSearchService {
                         .distinct()
                         .toList();
 
-        List<PointOfInterest> all = fetchByBbox(bbox, frontendCategories);
+        Double clusterCell = clusterCell(request, bbox);
+
+        AreaQuery query = new AreaQuery(
+                bbox, polygon, polygon != null ? request.getPolygon() : null,
+                frontendCategories, sortType, cursor, page, limit, clusterCell
+        );
+
+        // BBOX viewports: candidates from the tile-snapped cache, filtered back to the viewport
+        if (polygon == null && searchCache.isEnabled()) {
+            return searchCached(query);
+        }
 
-        // 🔥 DB EMPTY → INGEST
-        if (all.isEmpty()) {
+        return search(query);
+    }
 
-            String geoapifyFilter = buildRectFilterFromRequest(request);
+    private PoiSearchInAreaResponseDTO searchCached(AreaQuery q) {
+        PoiSearchCache.Key key = searchCache.keyFor(q.bbox(), q.categories());
 
+        List<PoiSummary> candidates = searchCache.getIfPresent(key);
+        if (candidates == null) {
+            // outside the cache: loading may ingest, and ingest invalidates cache entries
+            long generation = searchCache.generation();
+            candidates = loadCandidates(searchCache.snappedBbox(key), q.categories());
+            searchCache.put(key, candidates, generation);
+        }
 
-            poiIngestService.ingestMultipleCategories(
-                    geoapifyFilter,
-                    frontendCategories,
-                    INGEST_LIMIT
-            );
+        PoiSearchInAreaRequestDTO.Bbox b = q.bbox();
+        List<PoiSummary> inViewport = new ArrayList<>();
+        for (PoiSummary p : candidates) {
+            if (p.latitude() >= b.getMinLat() && p.latitude() <= b.getMaxLat()
+                    && p.longitude() >= b.getMinLng() && p.longitude() <= b.getMaxLng()) {
+                inViewport.add(p);
+            }
+        }
 
-            all = fetchByBbox(bbox, frontendCategories);
+        if (q.clusterCell() != null) {
+            return clusterInMemory(inViewport, q.clusterCell(), b);
+        }
+        return pageInMemory(inViewport, q.sort(), b, q.cursor(), q.page(), q.limit());
+    }
+
+    // same ingest rules as search(): stale coverage, or an empty untracked area
+    private List<PoiSummary> loadCandidates(PoiSearchInAreaRequestDTO.Bbox b, List<String> categories) {
+        PoiCoverageService.TileRange tiles = coverageService.rangeFor(b);
+        boolean tracked = coverageService.tracks(tiles);
+        if (tracked) {
+            ingestStale(tiles, categories);
+        }
+
+        List<PoiSummary> all = fetchByBbox(b, categories);
+        if (!tracked && all.isEmpty()) {
+            ingest(b, categories);
+            all = fetchByBbox(b, categories);
+        }
+        return all;
+    }
+
+    private PoiSearchInAreaResponseDTO search(AreaQuery q) {
+
+        boolean postgis = properties.getSearch().getBackend() == PoiProperties.SpatialBackend.POSTGIS;
+
+        // 🔥 COVERAGE → INGEST (tiles never fetched for a category, or older than ttl)
+        PoiCoverageService.TileRange tiles = coverageService.rangeFor(q.bbox());
+        boolean tracked = coverageService.tracks(tiles);
+        if (tracked) {
+            ingestStale(tiles, q.categories());
+        }
+
+        // zoomed-out maps: grid buckets instead of points
+        if (q.clusterCell() != null) {
+            PoiSearchInAreaResponseDTO clustered = cluster(q);
+
+            // 🔥 DB EMPTY → INGEST (viewport too large for coverage)
+            if (!tracked && clustered.getCount() == 0) {
+                ingest(q.bbox(), q.categories());
+                clustered = cluster(q);
+            }
+            return clustered;
+        }
+
+        // in-memory grid, or polygon without PostGIS: load the bbox candidates, filter/sort/page in Java
+        if (spatialIndex.isReady() || (q.polygon() != null && !postgis)) {
+            List<PoiSummary> all = fetchInArea(q.bbox(), q.polygon(), q.categories());
+
+            // 🔥 DB EMPTY → INGEST (viewport too large for coverage)
+            if (!tracked && all.isEmpty()) {
+                ingest(q.bbox(), q.categories());
+                all = fetchInArea(q.bbox(), q.polygon(), q.categories());
+            }
+
+            return pageInMemory(all, q.sort(), q.bbox(), q.cursor(), q.page(), q.limit());
+        }
+
+        // DB: GROUP BY for counts, ORDER BY + LIMIT/OFFSET (or keyset seek) for the page
+        Map<String, Integer> countsByCategory = countByCategory(q.bbox(), q.polygonPoints(), q.categories());
+
+        // 🔥 DB EMPTY → INGEST (viewport too large for coverage); tile counts may lag, so ask the DB
+        if (!tracked && countsByCategory.isEmpty()) {
+            countsByCategory = countByCategoryInDb(q.bbox(), q.polygonPoints(), q.categories());
+        }
+        if (!tracked && countsByCategory.isEmpty()) {
+            ingest(q.bbox(), q.categories());
+            countsByCategory = countByCategoryInDb(q.bbox(), q.polygonPoints(), q.categories());
         }
 
-        // sort
-        if (request.getSort() == PoiSearchInAreaRequestDTO.SortType.DISTANCE_TO_CENTER) {
-            sortByDistanceToCenter(all, bbox);
+        int total = sum(countsByCategory);
+        int limit = q.limit();
+
+        // the page query always runs: total may come from the approximate tile counts and only
+        // decides what is displayed; when the page contradicts it, the counts are redone in the DB
+        List<PoiSummary> pageItems;
+        boolean hasNext;
+
+        if (q.cursor() != null) {
+            // limit + 1 tells whether there is a next page
+            List<PoiSummary> rows =
+                    fetchPage(q.bbox(), q.polygonPoints(), q.categories(), q.sort(), q.cursor(), PageRequest.of(0, limit + 1));
+            hasNext = rows.size() > limit;
+            pageItems = hasNext ? rows.subList(0, limit) : rows;
+
+            if (total == 0 && !rows.isEmpty()) {
+                countsByCategory = countByCategoryInDb(q.bbox(), q.polygonPoints(), q.categories());
+                total = sum(countsByCategory);
+            }
         } else {
-            all.sort(
-                    Comparator.comparing(
-                            PointOfInterest::getRating,
-                            Comparator.nullsLast(Double::compareTo)
-                    ).reversed()
-            );
+            pageItems = fetchPage(q.bbox(), q.polygonPoints(), q.categories(), q.sort(), null, PageRequest.of(q.page(), limit));
+
+            long offset = (long) q.page() * limit;
+            long end = offset + pageItems.size();
+            boolean consistent = pageItems.size() == limit
+                    ? end < total
+                    : (pageItems.isEmpty() && q.page() > 0 ? total <= offset : end == total);
+            if (!consistent) {
+                countsByCategory = countByCategoryInDb(q.bbox(), q.polygonPoints(), q.categories());
+                total = sum(countsByCategory);
+            }
+            hasNext = pageItems.size() == limit && end < total;
         }
 
+        return PoiSearchInAreaResponseDTO.builder()
+                .count(total)
+                .pois(pageItems.stream().map(PoiSearchService::toSummary).toList())
+                .countsByCategory(countsByCategory)
+                .nextCursor(nextCursor(pageItems, hasNext, q.sort(), q.bbox()))
+                .build();
+    }
+
+    // fetch the whole tile block for the stale categories, then record the completely fetched tiles as covered
+    private void ingestStale(PoiCoverageService.TileRange tiles, List<String> frontendCategories) {
+        List<String> stale = coverageService.staleCategories(tiles, frontendCategories);
+        if (stale.isEmpty()) return;
+
+        PoiIngestCoordinator.RectIngest ingest =
+                poiIngestCoordinator.ingestRect(coverageService.bbox(tiles), stale, INGEST_LIMIT);
+        coverageService.markFetched(tiles, stale, ingest);
+    }
+
+    // concurrent misses for the same area/categories share one in-flight ingest
+    private void ingest(PoiSearchInAreaRequestDTO.Bbox bbox, List<String> frontendCategories) {
+        poiIngestCoordinator.ingestRect(bbox, frontendCategories, INGEST_LIMIT);
+    }
+
+    private PoiSearchInAreaResponseDTO pageInMemory(
+            List<PoiSummary> all,
+            PoiSearchInAreaRequestDTO.SortType sortType,
+            PoiSearchInAreaRequestDTO.Bbox bbox,
+            PoiSearchCursor cursor,
+            int page,
+            int limit
+    ) {
+        // same order as the SQL queries: sort key (rating desc / distance asc), poiId tie-breaker
+        Comparator<PoiSummary> order = sortComparator(sortType, bbox);
+        all.sort(order);
+
         Map<String, Integer> countsByCategory = all.stream()
                 .collect(Collectors.groupingBy(
-                        PointOfInterest::getCategory,
+                        PoiSummary::category,
                         Collectors.summingInt(x -> 1)
                 ));
 
-        int from = Math.min(page * limit, all.size());
+        int from;
+        if (cursor != null) {
+            // first row strictly after the cursor row
+            from = 0;
+            while (from < all.size() && compareToCursor(all.get(from), cursor, bbox) <= 0) from++;
+        } else {
+            from = (int) Math.min((long) page * limit, all.size());
+        }
         int to = Math.min(from + limit, all.size());
 
-        List<PoiSearchInAreaResponseDTO.PoiSummaryDTO> pois =
-                all.subList(from, to).stream()
-                        .map(this::toSummary)
-                        .toList();
+        List<PoiSummary> pageItems = all.subList(from, to);
 
         return PoiSearchInAreaResponseDTO.builder()
                 .count(all.size())
-                .pois(pois)
+                .pois(pageItems.stream().map(PoiSearchService::toSummary).toList())
                 .countsByCategory(countsByCategory)
+                .nextCursor(nextCursor(pageItems, to < all.size(), sortType, bbox))
+                .build();
+    }
+
+    // ================= CLUSTERING =================
+
+    /**
+     * Bucket size in degrees for a cluster=true request, null when single points should be returned.
+     * Explicit clusterCellDegrees > zoom (cell-pixels at that zoom) > 1/32 of the bbox; the cell is then
+     * doubled until the bbox spans at most poi.cluster.max-cells buckets.
+     */
+    private Double clusterCell(PoiSearchInAreaRequestDTO r, PoiSearchInAreaRequestDTO.Bbox b) {
+        if (!Boolean.TRUE.equals(r.getCluster())) return null;
+
+        PoiProperties.Cluster cfg = properties.getCluster();
+        double cell;
+
+        if (r.getClusterCellDegrees() != null) {
+            cell = r.getClusterCellDegrees();
+        } else if (r.getZoom() != null) {
+            if (r.getZoom() >= cfg.getMaxZoom()) return null;
+
+            // web mercator: a 256 px tile spans 360 / 2^zoom degrees of longitude
+            cell = 360.0 / (1L << r.getZoom()) / 256 * cfg.getCellPixels();
+        } else {
+            cell = Math.max(b.getMaxLat() - b.getMinLat(), b.getMaxLng() - b.getMinLng()) / 32;
+        }
+
+        cell = Math.max(cell, MIN_CLUSTER_CELL);
+        while (cellCount(b, cell) > cfg.getMaxCells()) {
+            cell *= 2;
+        }
+        return cell;
+    }
+
+    private static long cellCount(PoiSearchInAreaRequestDTO.Bbox b, double cell) {
+        GeoTile min = GeoTile.of(b.getMinLat(), b.getMinLng(), cell);
+        GeoTile max = GeoTile.of(b.getMaxLat(), b.getMaxLng(), cell);
+        return (long) (max.row() - min.row() + 1) * (max.col() - min.col() + 1);
+    }
+
+    private PoiSearchInAreaResponseDTO cluster(AreaQuery q) {
+        // in-memory grid / polygon: exact candidate set, bucketed in Java
+        if (spatialIndex.isReady() || q.polygon() != null) {
+            return clusterInMemory(fetchInArea(q.bbox(), q.polygon(), q.categories()), q.clusterCell(), q.bbox());
+        }
+
+        // DB: GROUP BY cell x category + top-rated row per cell
+        double cell = q.clusterCell();
+        Map<GeoTile, ClusterBucket> buckets = new HashMap<>();
+
+        for (var row : clusterRepository.countByCell(q.bbox(), q.categories(), cell)) {
+            ClusterBucket bucket = buckets.computeIfAbsent(row.cell(), t -> new ClusterBucket());
+            bucket.count += row.count();
+            bucket.sumLat += row.sumLat();
+            bucket.sumLng += row.sumLng();
+            bucket.countsByCategory.merge(row.category(), row.count(), Integer::sum);
+        }
+        clusterRepository.findTopRatedByCell(q.bbox(), q.categories(), cell)
+                .forEach((tile, p) -> {
+                    ClusterBucket bucket = buckets.get(tile);
+                    if (bucket != null) bucket.representative = p;
+                });
+
+        return clusterResponse(buckets);
+    }
+
+    private PoiSearchInAreaResponseDTO clusterInMemory(
+            Collection<PoiSummary> pois,
+            double cell,
+            PoiSearchInAreaRequestDTO.Bbox bbox
+    ) {
+        Map<GeoTile, ClusterBucket> buckets = new HashMap<>();
+        Comparator<PoiSummary> best = sortComparator(PoiSearchInAreaRequestDTO.SortType.RATING_DESC, bbox);
+
+        for (PoiSummary p : pois) {
+            ClusterBucket bucket = buckets.computeIfAbsent(
+                    GeoTile.of(p.latitude(), p.longitude(), cell), t -> new ClusterBucket());
+            bucket.count++;
+            bucket.sumLat += p.latitude();
+            bucket.sumLng += p.longitude();
+            bucket.countsByCategory.merge(p.category(), 1, Integer::sum);
+            if (bucket.representative == null || best.compare(p, bucket.representative) < 0) {
+                bucket.representative = p;
+            }
+        }
+
+        return clusterResponse(buckets);
+    }
+
+    private static PoiSearchInAreaResponseDTO clusterResponse(Map<GeoTile, ClusterBucket> buckets) {
+        Map<String, Integer> countsByCategory = new HashMap<>();
+        List<PoiSearchInAreaResponseDTO.PoiClusterDTO> clusters = new ArrayList<>(buckets.size());
+        int total = 0;
+
+        for (ClusterBucket bucket : buckets.values()) {
+            total += bucket.count;
+            bucket.countsByCategory.forEach((c, n) -> countsByCategory.merge(c, n, Integer::sum));
+
+            clusters.add(PoiSearchInAreaResponseDTO.PoiClusterDTO.builder()
+                    .latitude(bucket.sumLat / bucket.count)
+                    .longitude(bucket.sumLng / bucket.count)
+                    .count(bucket.count)
+                    .countsByCategory(bucket.countsByCategory)
+                    .representative(bucket.representative != null ? toSummary(bucket.representative) : null)
+                    .build());
+        }
+
+        // biggest buckets first, then position (stable output for caches/clients)
+        clusters.sort(Comparator.comparingInt(PoiSearchInAreaResponseDTO.PoiClusterDTO::getCount).reversed()
+                .thenComparingDouble(PoiSearchInAreaResponseDTO.PoiClusterDTO::getLatitude)
+                .thenComparingDouble(PoiSearchInAreaResponseDTO.PoiClusterDTO::getLongitude));
+
+        return PoiSearchInAreaResponseDTO.builder()
+                .count(total)
+                .pois(List.of())
+                .countsByCategory(countsByCategory)
+                .clusters(clusters)
                 .build();
     }
 
     // ================= HELPERS =================
 
-    private List<PointOfInterest> fetchByBbox(
+    private Map<String, Integer> countByCategory(
             PoiSearchInAreaRequestDTO.Bbox b,
+            List<PoiSearchInAreaRequestDTO.LatLng> polygon,
             List<String> categories
     ) {
+        // precomputed tile counts + boundary tiles from the DB (bbox only)
+        if (polygon == null && tileCounts.isReady()) {
+            Map<String, Integer> counts = tileCounts.countByCategory(b, categories);
+            if (counts != null) return counts;
+        }
+
+        return countByCategoryInDb(b, polygon, categories);
+    }
+
+    // exact GROUP BY, bypassing the tile counts
+    private Map<String, Integer> countByCategoryInDb(
+            PoiSearchInAreaRequestDTO.Bbox b,
+            List<PoiSearchInAreaRequestDTO.LatLng> polygon,
+            List<String> categories
+    ) {
+        if (properties.getSearch().getBackend() == PoiProperties.SpatialBackend.POSTGIS) {
+            return spatialRepository.countByCategory(b, polygon, categories);
+        }
+
+        List<PointOfInterestRepository.CategoryCount> rows = categories.isEmpty()
+                ? poiRepository.countByCategoryInBbox(
+                        b.getMinLat(), b.getMaxLat(),
+                        b.getMinLng(), b.getMaxLng()
+                )
+                : poiRepository.countByCategoryInBboxAndCategoryIn(
+                        b.getMinLat(), b.getMaxLat(),
+                        b.getMinLng(), b.getMaxLng(),
+                        categories
+                );
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (var row : rows) {
+            counts.put(row.getCategory(), (int) row.getPoiCount());
+        }
+        return counts;
+    }
+
+    private static int sum(Map<String, Integer> countsByCategory) {
+        return countsByCategory.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * One page from the DB. cursor == null => LIMIT/OFFSET from pageable,
+     * otherwise keyset seek past the cursor row (pageable only limits).
+     * polygon is only supported by the PostGIS backend.
+     */
+    private List<PoiSummary> fetchPage(
+            PoiSearchInAreaRequestDTO.Bbox b,
+            List<PoiSearchInAreaRequestDTO.LatLng> polygon,
+            List<String> categories,
+            PoiSearchInAreaRequestDTO.SortType sortType,
+            PoiSearchCursor cursor,
+            Pageable pageable
+    ) {
+        if (properties.getSearch().getBackend() == PoiProperties.SpatialBackend.POSTGIS) {
+            return spatialRepository.findPage(
+                    b, polygon, categories, sortType,
+                    cursor != null ? cursor.key() : null,
+                    cursor != null ? cursor.poiId() : null,
+                    pageable.getOffset(), pageable.getPageSize()
+            );
+        }
+
+        if (sortType == PoiSearchInAreaRequestDTO.SortType.DISTANCE_TO_CENTER) {
+            double cl = centerLat(b);
+            double cg = centerLng(b);
+
+            if (cursor != null) {
+                return categories.isEmpty()
+                        ? poiRepository.findPageInBboxOrderByDistanceAfter(
+                                b.getMinLat(), b.getMaxLat(),
+                                b.getMinLng(), b.getMaxLng(),
+                                cl, cg, cursor.key(), cursor.poiId(), pageable
+                        )
+                        : poiRepository.findPageInBboxAndCategoryInOrderByDistanceAfter(
+                                b.getMinLat(), b.getMaxLat(),
+                                b.getMinLng(), b.getMaxLng(),
+                                categories, cl, cg, cursor.key(), cursor.poiId(), pageable
+                        );
+            }
+
+            return categories.isEmpty()
+                    ? poiRepository.findPageInBboxOrderByDistance(
+                            b.getMinLat(), b.getMaxLat(),
+                            b.getMinLng(), b.getMaxLng(),
+                            cl, cg, pageable
+                    )
+                    : poiRepository.findPageInBboxAndCategoryInOrderByDistance(
+                            b.getMinLat(), b.getMaxLat(),
+                            b.getMinLng(), b.getMaxLng(),
+                            categories, cl, cg, pageable
+                    );
+        }
+
+        if (cursor != null) {
+            return categories.isEmpty()
+                    ? poiRepository.findPageInBboxOrderByRatingAfter(
+                            b.getMinLat(), b.getMaxLat(),
+                            b.getMinLng(), b.getMaxLng(),
+                            cursor.key(), cursor.poiId(), pageable
+                    )
+                    : poiRepository.findPageInBboxAndCategoryInOrderByRatingAfter(
+                            b.getMinLat(), b.getMaxLat(),
+                            b.getMinLng(), b.getMaxLng(),
+                            categories, cursor.key(), cursor.poiId(), pageable
+                    );
+        }
+
+        return categories.isEmpty()
+                ? poiRepository.findPageInBboxOrderByRating(
+                        b.getMinLat(), b.getMaxLat(),
+                        b.getMinLng(), b.getMaxLng(),
+                        pageable
+                )
+                : poiRepository.findPageInBboxAndCategoryInOrderByRating(
+                        b.getMinLat(), b.getMaxLat(),
+                        b.getMinLng(), b.getMaxLng(),
+                        categories, pageable
+                );
+    }
+
+    private List<PoiSummary> fetchInArea(
+            PoiSearchInAreaRequestDTO.Bbox b,
+            GeoPolygon polygon,
+            List<String> categories
+    ) {
+        List<PoiSummary> all = fetchByBbox(b, categories);
+        if (polygon != null) {
+            all.removeIf(p -> !polygon.contains(p.latitude(), p.longitude()));
+        }
+        return all;
+    }
+
+    private List<PoiSummary> fetchByBbox(
+            PoiSearchInAreaRequestDTO.Bbox b,
+            List<String> categories
+    ) {
+        // in-memory grid (poi.index.enabled) answers without a DB round-trip
+        if (spatialIndex.isReady()) {
+            return spatialIndex.query(b, categories);
+        }
+
+        // summary rows only (PoiSummary, see PointOfInterestRepository.SELECT_SUMMARY)
         if (categories.isEmpty()) {
-            return poiRepository.findByLatitudeBetweenAndLongitudeBetween(
+            return poiRepository.findSummariesInBbox(
                     b.getMinLat(), b.getMaxLat(),
                     b.getMinLng(), b.getMaxLng()
             );
         }
 
-        return poiRepository.findByLatitudeBetweenAndLongitudeBetweenAndCategoryIn(
+        return poiRepository.findSummariesInBboxAndCategoryIn(
                 b.getMinLat(), b.getMaxLat(),
                 b.getMinLng(), b.getMaxLng(),
                 categories
         );
     }
 
-    private PoiSearchInAreaRequestDTO.Bbox resolveBbox(PoiSearchInAreaRequestDTO r) {
-        if (r.getSelectionType() == PoiSearchInAreaRequestDTO.SelectionType.BBOX) {
-            return r.getBbox();
+    // ================= SORT KEYS (must match the ORDER BY of the repository queries) =================
+
+    /**
+     * RATING_DESC -> coalesce(rating, -1), DISTANCE_TO_CENTER -> squared degree distance to bbox center.
+     */
+    private double sortKey(
+            PoiSummary p,
+            PoiSearchInAreaRequestDTO.SortType sortType,
+            PoiSearchInAreaRequestDTO.Bbox b
+    ) {
+        if (sortType == PoiSearchInAreaRequestDTO.SortType.DISTANCE_TO_CENTER) {
+            double dLat = p.latitude() - centerLat(b);
+            double dLng = p.longitude() - centerLng(b);
+            return dLat * dLat + dLng * dLng;
         }
-        return bboxFromPolygon(r.getPolygon());
+        return p.rating() != null ? p.rating() : -1;
     }
 
-    private PoiSearchInAreaRequestDTO.Bbox bboxFromPolygon(
-            List<PoiSearchInAreaRequestDTO.LatLng> poly
+    private Comparator<PoiSummary> sortComparator(
+            PoiSearchInAreaRequestDTO.SortType sortType,
+            PoiSearchInAreaRequestDTO.Bbox b
     ) {
-        double minLat = Double.MAX_VALUE, minLng = Double.MAX_VALUE;
-        double maxLat = -Double.MAX_VALUE, maxLng = -Double.MAX_VALUE;
-
-        for (var p : poly) {
-            minLat = Math.min(minLat, p.getLat());
-            minLng = Math.min(minLng, p.getLng());
-            maxLat = Math.max(maxLat, p.getLat());
-            maxLng = Math.max(maxLng, p.getLng());
+        Comparator<PoiSummary> byKey = Comparator.comparingDouble(p -> sortKey(p, sortType, b));
+        if (sortType != PoiSearchInAreaRequestDTO.SortType.DISTANCE_TO_CENTER) {
+            byKey = byKey.reversed();
         }
+        return byKey.thenComparing(BY_POI_ID);
+    }
 
-        return new PoiSearchInAreaRequestDTO.Bbox(minLat, minLng, maxLat, maxLng);
+    /**
+     * < 0 => p sorts before the cursor row, > 0 => after it.
+     */
+    private int compareToCursor(PoiSummary p, PoiSearchCursor cursor, PoiSearchInAreaRequestDTO.Bbox b) {
+        int byKey = Double.compare(sortKey(p, cursor.sort(), b), cursor.key());
+        if (cursor.sort() != PoiSearchInAreaRequestDTO.SortType.DISTANCE_TO_CENTER) {
+            byKey = -byKey;
+        }
+        return byKey != 0 ? byKey : p.poiId().toString().compareTo(cursor.poiId().toString());
     }
 
-    private void sortByDistanceToCenter(
-            List<PointOfInterest> pois,
+    private String nextCursor(
+            List<PoiSummary> pageItems,
+            boolean hasNext,
+            PoiSearchInAreaRequestDTO.SortType sortType,
             PoiSearchInAreaRequestDTO.Bbox b
     ) {
-        double cl = (b.getMinLat() + b.getMaxLat()) / 2;
-        double cg = (b.getMinLng() + b.getMaxLng()) / 2;
+        if (!hasNext || pageItems.isEmpty()) return null;
 
-        pois.sort(Comparator.comparingDouble(
-                p -> Math.pow(cl - p.getLatitude(), 2)
-                        + Math.pow(cg - p.getLongitude(), 2)
-        ));
+        PoiSummary last = pageItems.get(pageItems.size() - 1);
+        return new PoiSearchCursor(sortType, sortKey(last, sortType, b), last.poiId()).encode();
     }
 
-    private PoiSearchInAreaResponseDTO.PoiSummaryDTO toSummary(PointOfInterest p) {
-        return PoiSearchInAreaResponseDTO.PoiSummaryDTO.builder()
-                .poiId(p.getPoiId())
-                .name(p.getName())
-                .category(p.getCategory())
-                .latitude(p.getLatitude())
-                .longitude(p.getLongitude())
-                .rating(p.getRating())
-                .priceLevel(p.getPriceLevel())
-                .externalId(p.getExternalId())
-                .build();
+    private static double centerLat(PoiSearchInAreaRequestDTO.Bbox b) {
+        return (b.getMinLat() + b.getMaxLat()) / 2;
     }
 
-    private String buildGeoapifyFilter(PoiSearchInAreaRequestDTO r) {
-
-        if (r.getSelectionType() == PoiSearchInAreaRequestDTO.SelectionType.BBOX) {
-            var b = r.getBbox();
-            return String.format(
-                    Locale.US,
-                    "rect:%f,%f,%f,%f",
-                    b.getMinLng(), b.getMinLat(),
-                    b.getMaxLng(), b.getMaxLat()
-            );
-        }
-
-        StringBuilder sb = new StringBuilder("polygon:");
-        for (int i = 0; i < r.getPolygon().size(); i++) {
-            var p = r.getPolygon().get(i);
-            sb.append(p.getLng()).append(" ").append(p.getLat());
-            if (i < r.getPolygon().size() - 1) sb.append(",");
-        }
-        return sb.toString();
+    private static double centerLng(PoiSearchInAreaRequestDTO.Bbox b) {
+        return (b.getMinLng() + b.getMaxLng()) / 2;
     }
 
-    private String buildRectFilterFromRequest(PoiSearchInAreaRequestDTO r) {
-
-        PoiSearchInAreaRequestDTO.Bbox b;
-
-        if (r.getSelectionType() == PoiSearchInAreaRequestDTO.SelectionType.BBOX) {
-            b = r.getBbox();
-        } else {
-            // polygon → bbox
-            double minLat = Double.MAX_VALUE, minLng = Double.MAX_VALUE;
-            double maxLat = -Double.MAX_VALUE, maxLng = -Double.MAX_VALUE;
-
-            for (var p : r.getPolygon()) {
-                minLat = Math.min(minLat, p.getLat());
-                minLng = Math.min(minLng, p.getLng());
-                maxLat = Math.max(maxLat, p.getLat());
-                maxLng = Math.max(maxLng, p.getLng());
-            }
-
-            b = new PoiSearchInAreaRequestDTO.Bbox(minLat, minLng, maxLat, maxLng);
-        }
-
-        return String.format(
-                Locale.US,
-                "rect:%f,%f,%f,%f",
-                b.getMinLng(), b.getMinLat(),
-                b.getMaxLng(), b.getMaxLat()
-        );
+    static PoiSearchInAreaResponseDTO.PoiSummaryDTO toSummary(PoiSummary p) {
+        return PoiSearchInAreaResponseDTO.PoiSummaryDTO.builder()
+                .poiId(p.poiId())
+                .name(p.name())
+                .category(p.category())
+                .latitude(p.latitude())
+                .longitude(p.longitude())
+                .rating(p.rating())
+                .priceLevel(p.priceLevel())
+                .externalId(p.externalId())
+                .build();
     }
 
 }
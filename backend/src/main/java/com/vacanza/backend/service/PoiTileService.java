@@ -0,0 +1,156 @@
+package com.vacanza.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vacanza.backend.config.PoiProperties;
+import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO;
+import com.vacanza.backend.entity.PointOfInterest;
+import com.vacanza.backend.event.PoisIngestedEvent;
+import com.vacanza.backend.repo.PoiSummary;
+import com.vacanza.backend.repo.PointOfInterestRepository;
+import com.vacanza.backend.spatial.MvtEncoder;
+import com.vacanza.backend.spatial.WebMercatorTile;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * POIs as Mapbox Vector Tiles (GET /pois/tiles/{z}/{x}/{y}.mvt), layer "pois".
+ *
+ * Served from points_of_interest only (no ingest), so a tile is a pure function of the data:
+ * encoded tiles are cached in-process and carry a content ETag for HTTP caches / CDNs.
+ * Below poi.tiles.full-detail-zoom the tile is thinned to the top-rated POIs, at most one per
+ * min-spacing-pixels cell. Tiles containing newly ingested POIs are dropped from the cache.
+ *
+ * Metrics: cache.gets{result=hit|miss}, cache.size (cache=poi.tiles)
+ */
+@Service
+public class PoiTileService {
+
+    public static final String LAYER = "pois";
+
+    // candidates fetched per kept feature when thinning
+    private static final int THINNING_CANDIDATES = 4;
+
+    private final PointOfInterestRepository poiRepository;
+    private final PoiProperties properties;
+    private final Cache<Key, EncodedTile> cache;
+
+    public PoiTileService(PointOfInterestRepository poiRepository, PoiProperties properties, MeterRegistry meterRegistry) {
+        this.poiRepository = poiRepository;
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getTiles().getCacheMaxEntries())
+                .expireAfterWrite(properties.getTiles().getCacheTtl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "poi.tiles");
+    }
+
+    public record EncodedTile(byte[] body, String etag) {
+    }
+
+    private record Key(WebMercatorTile tile, List<String> categories) {
+    }
+
+    public EncodedTile tile(int z, int x, int y, List<String> categories) {
+        WebMercatorTile tile = new WebMercatorTile(z, x, y);
+        if (!tile.isValid()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "TILE_OUT_OF_RANGE: z must be 0-" + WebMercatorTile.MAX_ZOOM + " and x/y 0..2^z-1");
+        }
+
+        List<String> normalized = categories == null
+                ? List.of()
+                : categories.stream().map(String::toLowerCase).distinct().sorted().toList();
+
+        return cache.get(new Key(tile, normalized), this::render);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPoisIngested(PoisIngestedEvent event) {
+        if (event.pois().isEmpty() || cache.estimatedSize() == 0) return;
+
+        Set<WebMercatorTile> touched = new HashSet<>();
+        for (PointOfInterest p : event.pois()) {
+            if (p.getLatitude() == null || p.getLongitude() == null) continue;
+            for (int z = 0; z <= WebMercatorTile.MAX_ZOOM; z++) {
+                touched.add(WebMercatorTile.containing(p.getLatitude(), p.getLongitude(), z));
+            }
+        }
+
+        cache.asMap().keySet().removeIf(key -> touched.contains(key.tile()));
+    }
+
+    private EncodedTile render(Key key) {
+        PoiProperties.Tiles cfg = properties.getTiles();
+        WebMercatorTile tile = key.tile();
+
+        List<PoiSummary> kept = tile.z() < cfg.getMinZoom() ? List.of() : select(tile, key.categories(), cfg);
+
+        List<MvtEncoder.PointFeature> features = new ArrayList<>(kept.size());
+        for (PoiSummary p : kept) {
+            int[] px = tile.project(p.latitude(), p.longitude(), MvtEncoder.DEFAULT_EXTENT);
+
+            Map<String, Object> props = new LinkedHashMap<>();
+            props.put("poiId", p.poiId().toString());
+            props.put("name", p.name());
+            props.put("category", p.category());
+            props.put("rating", p.rating());
+            features.add(new MvtEncoder.PointFeature(px[0], px[1], props));
+        }
+
+        byte[] body = MvtEncoder.encode(LAYER, MvtEncoder.DEFAULT_EXTENT, features);
+        return new EncodedTile(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+    }
+
+    // rating order (same as RATING_DESC), thinned below full-detail zoom
+    private List<PoiSummary> select(WebMercatorTile tile, List<String> categories, PoiProperties.Tiles cfg) {
+        boolean fullDetail = tile.z() >= cfg.getFullDetailZoom();
+        int limit = fullDetail ? cfg.getMaxFeaturesFullDetail() : cfg.getMaxFeatures();
+        int candidates = fullDetail ? limit : limit * THINNING_CANDIDATES;
+
+        PoiSearchInAreaRequestDTO.Bbox b = tile.bbox();
+        List<PoiSummary> rows = categories.isEmpty()
+                ? poiRepository.findPageInBboxOrderByRating(
+                        b.getMinLat(), b.getMaxLat(),
+                        b.getMinLng(), b.getMaxLng(),
+                        PageRequest.of(0, candidates)
+                )
+                : poiRepository.findPageInBboxAndCategoryInOrderByRating(
+                        b.getMinLat(), b.getMaxLat(),
+                        b.getMinLng(), b.getMaxLng(),
+                        categories, PageRequest.of(0, candidates)
+                );
+
+        if (fullDetail) return rows;
+
+        // one POI per spacing cell; 256 px per tile edge
+        int spacing = Math.max(1, MvtEncoder.DEFAULT_EXTENT / 256 * cfg.getMinSpacingPixels());
+        Set<Long> used = new HashSet<>();
+        List<PoiSummary> kept = new ArrayList<>();
+
+        for (PoiSummary p : rows) {
+            int[] px = tile.project(p.latitude(), p.longitude(), MvtEncoder.DEFAULT_EXTENT);
+            long cell = ((long) (px[0] / spacing) << 32) | (px[1] / spacing);
+            if (used.add(cell)) {
+                kept.add(p);
+                if (kept.size() >= limit) break;
+            }
+        }
+        return kept;
+    }
+}
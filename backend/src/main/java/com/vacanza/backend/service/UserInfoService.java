@@ -6,6 +6,7 @@ import com.vacanza.backend.entity.User;
 import com.vacanza.backend.entity.UserInfo;
 import com.vacanza.backend.repo.UserInfoRepository;
 import com.vacanza.backend.security.CurrentUserProvider;
+import com.vacanza.backend.security.UserIdentity;
 import com.vacanza.backend.service.impl.UserInfoImpl;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -28,9 +29,12 @@ public class UserInfoService implements UserInfoImpl {
     @Override
     @Transactional(readOnly = true)
     public UserInfoResponseDTO getUserInfo() {
-        User user = currentUserProvider.getCurrentUserEntity();
-        UserInfo info = userInfoRepository.findByUser(user)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User profile not found"));
+        UserIdentity identity = currentUserProvider.getCurrentIdentity();
+        UserInfo info = userInfoRepository.findByUserUserId(identity.userId()).orElse(null);
+        if (info == null) {
+            currentUserProvider.requireCurrentUserExists(identity);
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User profile not found");
+        }
 
         return toDto(info);
     }
@@ -38,9 +42,9 @@ public class UserInfoService implements UserInfoImpl {
     @Override
     @Transactional
     public UserInfoResponseDTO updateUserInfo(UserInfoRequestDTO req) {
-        User user = currentUserProvider.getCurrentUserEntity();
+        UserIdentity identity = currentUserProvider.getCurrentIdentity();
 
-        UserInfo info = userInfoRepository.findByUser(user).orElse(null);
+        UserInfo info = userInfoRepository.findByUserUserId(identity.userId()).orElse(null);
 
         // Create (first time onboarding) requires mandatory fields
         if (info == null) {
@@ -51,6 +55,9 @@ public class UserInfoService implements UserInfoImpl {
                 );
             }
 
+            // the users row is only needed here, to link the new profile
+            User user = currentUserProvider.getCurrentUserEntity();
+
             info = UserInfo.builder()
                     .user(user)
                     .firstName(req.getFirstName().trim())
@@ -35,6 +35,8 @@ public class UserLoginHistoryService implements UserLoginHistoryImpl {
                         .loginProvider(item.getLoginProvider())
                         .loginTime(item.getLoginTime())
                         .ipAddress(item.getIpAddress())
+                        .lastSeenAt(item.getLastSeenAt())
+                        .loginCount(item.getLoginCount())
                         .build())
                 .collect(Collectors.toList());
     }
@@ -54,6 +56,8 @@ public class UserLoginHistoryService implements UserLoginHistoryImpl {
                         .loginProvider(item.getLoginProvider())
                         .loginTime(item.getLoginTime())
                         .ipAddress(item.getIpAddress())
+                        .lastSeenAt(item.getLastSeenAt())
+                        .loginCount(item.getLoginCount())
                         .build())
                 .collect(Collectors.toList());
     }
@@ -1,14 +1,16 @@
 package com.vacanza.backend.service;
 
 import com.vacanza.backend.dto.response.UserLoginResponseDTO;
-import com.vacanza.backend.entity.User;
 import com.vacanza.backend.entity.UserInfo;
 import com.vacanza.backend.repo.UserInfoRepository;
 import com.vacanza.backend.repo.UserRepository;
 import com.vacanza.backend.security.CurrentUserProvider;
+import com.vacanza.backend.security.UserIdentity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
@@ -34,21 +36,24 @@ public class UserService {
     public List<UserLoginResponseDTO> getAllUsers() {
         return userRepository.findAll()
                 .stream()
-                .map(this::toResponse)
+                .map(user -> toResponse(user.getUserId(), user.getEmail(),
+                        userInfoRepository.findByUserUserId(user.getUserId()).orElse(null)))
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public UserLoginResponseDTO getCurrentUser() {
-        User user = currentUserProvider.getCurrentUserEntity();
-        return toResponse(user);
-    }
+        UserIdentity identity = currentUserProvider.getCurrentIdentity();
+        UserInfo info = userInfoRepository.findByUserUserId(identity.userId()).orElse(null);
+        // without a profile the users row may be gone (cached identity): keep that a 401
+        if (info == null) currentUserProvider.requireCurrentUserExists(identity);
 
-    private UserLoginResponseDTO toResponse(User user) {
-        boolean profileCompleted = userInfoRepository.existsByUser(user);
+        return toResponse(identity.userId(), identity.email(), info);
+    }
 
+    private UserLoginResponseDTO toResponse(UUID userId, String email, UserInfo info) {
         //if profile exists, use displayName from UserInfo; otherwise fallback to email
-        String displayName = user.getEmail();
-        UserInfo info = userInfoRepository.findByUser(user).orElse(null);
+        String displayName = email;
         if (info != null) {
             displayName = info.getDisplayName();
         }
@@ -56,8 +61,8 @@ public class UserService {
         return UserLoginResponseDTO.builder()
                 .authenticated(true)
                 .user(UserLoginResponseDTO.UserInfo.builder()
-                        .userId(user.getUserId())
-                        .email(user.getEmail())
+                        .userId(userId)
+                        .email(email)
                         .displayName(displayName)
                         .build())
                 .build();
@@ -0,0 +1,47 @@
+package com.vacanza.backend.spatial;
+
+import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO;
+
+/**
+ * Great-circle distance on a spherical earth (haversine), and the lat/lng box enclosing a circle.
+ */
+public final class GeoDistance {
+
+    public static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    private static final double METERS_PER_DEGREE_LAT = Math.PI * EARTH_RADIUS_METERS / 180;
+
+    private GeoDistance() {
+    }
+
+    public static double haversineMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Box containing every point within radiusMeters of (lat, lng), clamped to valid coordinates.
+     * Near the poles (or when the circle crosses one) the box spans all longitudes;
+     * circles crossing the antimeridian are cut at +-180.
+     */
+    public static PoiSearchInAreaRequestDTO.Bbox boundingBox(double lat, double lng, double radiusMeters) {
+        double dLat = radiusMeters / METERS_PER_DEGREE_LAT;
+        double minLat = Math.max(-90, lat - dLat);
+        double maxLat = Math.min(90, lat + dLat);
+
+        // widest longitude span is at the latitude closest to a pole
+        double cos = Math.cos(Math.toRadians(Math.max(Math.abs(minLat), Math.abs(maxLat))));
+        double dLng = cos <= 1e-9 ? 180 : Math.min(180, dLat / cos);
+
+        return new PoiSearchInAreaRequestDTO.Bbox(
+                minLat, Math.max(-180, lng - dLng),
+                maxLat, Math.min(180, lng + dLng)
+        );
+    }
+}
@@ -0,0 +1,168 @@
+package com.vacanza.backend.spatial;
+
+import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Point-in-polygon test for POLYGON selections (x = lng, y = lat, even-odd rule).
+ *
+ * Built once per request, then contains() is called per candidate POI:
+ * 1. bbox reject
+ * 2. a GRID x GRID raster over the bbox, every cell precomputed as
+ *    INSIDE / OUTSIDE (no edge crosses it) or BOUNDARY
+ * 3. only points in BOUNDARY cells run the full ray-cast over the edge arrays
+ */
+public final class GeoPolygon {
+
+    private static final byte OUTSIDE = 0;
+    private static final byte INSIDE = 1;
+    private static final byte BOUNDARY = 2;
+
+    private static final int GRID = 32;
+
+    private final double[] xs;
+    private final double[] ys;
+    private final int n;
+
+    private final double minX, minY, maxX, maxY;
+    private final double cellW, cellH;
+    private final byte[] cells = new byte[GRID * GRID];
+
+    public GeoPolygon(List<PoiSearchInAreaRequestDTO.LatLng> points) {
+        // drop the closing vertex if FE sends a closed ring
+        int count = points.size();
+        if (count > 3 && points.get(0).getLat().equals(points.get(count - 1).getLat())
+                && points.get(0).getLng().equals(points.get(count - 1).getLng())) {
+            count--;
+        }
+
+        n = count;
+        xs = new double[n];
+        ys = new double[n];
+
+        double x0 = Double.MAX_VALUE, y0 = Double.MAX_VALUE;
+        double x1 = -Double.MAX_VALUE, y1 = -Double.MAX_VALUE;
+
+        for (int i = 0; i < n; i++) {
+            xs[i] = points.get(i).getLng();
+            ys[i] = points.get(i).getLat();
+            x0 = Math.min(x0, xs[i]);
+            y0 = Math.min(y0, ys[i]);
+            x1 = Math.max(x1, xs[i]);
+            y1 = Math.max(y1, ys[i]);
+        }
+
+        minX = x0;
+        minY = y0;
+        maxX = x1;
+        maxY = y1;
+        cellW = (maxX - minX) / GRID;
+        cellH = (maxY - minY) / GRID;
+
+        rasterize();
+    }
+
+    public PoiSearchInAreaRequestDTO.Bbox bbox() {
+        return new PoiSearchInAreaRequestDTO.Bbox(minY, minX, maxY, maxX);
+    }
+
+    public boolean contains(double lat, double lng) {
+        if (lng < minX || lng > maxX || lat < minY || lat > maxY) return false;
+
+        byte state = cells[cellIndex(cellCol(lng), cellRow(lat))];
+        if (state == BOUNDARY) return rayCast(lng, lat);
+        return state == INSIDE;
+    }
+
+    // ================= HELPERS =================
+
+    private void rasterize() {
+        // degenerate (zero width/height) polygon: everything goes through the ray-cast
+        if (!(cellW > 0) || !(cellH > 0)) {
+            Arrays.fill(cells, BOUNDARY);
+            return;
+        }
+
+        // 1. cells crossed by an edge
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            int c0 = cellCol(Math.min(xs[i], xs[j])), c1 = cellCol(Math.max(xs[i], xs[j]));
+            int r0 = cellRow(Math.min(ys[i], ys[j])), r1 = cellRow(Math.max(ys[i], ys[j]));
+
+            for (int r = r0; r <= r1; r++) {
+                for (int c = c0; c <= c1; c++) {
+                    int idx = cellIndex(c, r);
+                    if (cells[idx] == BOUNDARY) continue;
+                    if (segmentHitsCell(xs[j], ys[j], xs[i], ys[i], c, r)) {
+                        cells[idx] = BOUNDARY;
+                    }
+                }
+            }
+        }
+
+        // 2. no edge inside the cell => the whole cell has the same answer as its center
+        for (int r = 0; r < GRID; r++) {
+            for (int c = 0; c < GRID; c++) {
+                int idx = cellIndex(c, r);
+                if (cells[idx] == BOUNDARY) continue;
+                double cx = minX + (c + 0.5) * cellW;
+                double cy = minY + (r + 0.5) * cellH;
+                cells[idx] = rayCast(cx, cy) ? INSIDE : OUTSIDE;
+            }
+        }
+    }
+
+    /**
+     * Liang-Barsky clip of the segment against the (slightly padded) cell rectangle.
+     */
+    private boolean segmentHitsCell(double ax, double ay, double bx, double by, int c, int r) {
+        double padX = cellW * 1e-6, padY = cellH * 1e-6;
+        double left = minX + c * cellW - padX, right = minX + (c + 1) * cellW + padX;
+        double bottom = minY + r * cellH - padY, top = minY + (r + 1) * cellH + padY;
+
+        double dx = bx - ax, dy = by - ay;
+        double[] p = {-dx, dx, -dy, dy};
+        double[] q = {ax - left, right - ax, ay - bottom, top - ay};
+
+        double t0 = 0, t1 = 1;
+        for (int k = 0; k < 4; k++) {
+            if (p[k] == 0) {
+                if (q[k] < 0) return false;
+            } else {
+                double t = q[k] / p[k];
+                if (p[k] < 0) {
+                    if (t > t1) return false;
+                    if (t > t0) t0 = t;
+                } else {
+                    if (t < t0) return false;
+                    if (t < t1) t1 = t;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean rayCast(double x, double y) {
+        boolean inside = false;
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            if ((ys[i] > y) != (ys[j] > y)
+                    && x < (xs[j] - xs[i]) * (y - ys[i]) / (ys[j] - ys[i]) + xs[i]) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    private int cellCol(double x) {
+        return Math.min(GRID - 1, Math.max(0, (int) ((x - minX) / cellW)));
+    }
+
+    private int cellRow(double y) {
+        return Math.min(GRID - 1, Math.max(0, (int) ((y - minY) / cellH)));
+    }
+
+    private static int cellIndex(int c, int r) {
+        return r * GRID + c;
+    }
+}
@@ -0,0 +1,45 @@
+package com.vacanza.backend.spatial;
+
+import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-size lat/lng tile (row = latitude band, col = longitude band), size given in degrees.
+ * Used to quantize viewports (cache keys, coverage, counts) to a stable grid.
+ */
+public record GeoTile(int row, int col) {
+
+    public static GeoTile of(double lat, double lng, double sizeDegrees) {
+        return new GeoTile(
+                (int) Math.floor((lat + 90) / sizeDegrees),
+                (int) Math.floor((lng + 180) / sizeDegrees)
+        );
+    }
+
+    /**
+     * All tiles touching the bbox, row-major.
+     */
+    public static List<GeoTile> covering(PoiSearchInAreaRequestDTO.Bbox b, double sizeDegrees) {
+        GeoTile min = of(b.getMinLat(), b.getMinLng(), sizeDegrees);
+        GeoTile max = of(b.getMaxLat(), b.getMaxLng(), sizeDegrees);
+
+        List<GeoTile> tiles = new ArrayList<>();
+        for (int r = min.row(); r <= max.row(); r++) {
+            for (int c = min.col(); c <= max.col(); c++) {
+                tiles.add(new GeoTile(r, c));
+            }
+        }
+        return tiles;
+    }
+
+    public PoiSearchInAreaRequestDTO.Bbox bbox(double sizeDegrees) {
+        return new PoiSearchInAreaRequestDTO.Bbox(
+                Math.max(-90, row * sizeDegrees - 90),
+                Math.max(-180, col * sizeDegrees - 180),
+                Math.min(90, (row + 1) * sizeDegrees - 90),
+                Math.min(180, (col + 1) * sizeDegrees - 180)
+        );
+    }
+}
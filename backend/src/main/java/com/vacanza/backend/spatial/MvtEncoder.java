@@ -0,0 +1,133 @@
+package com.vacanza.backend.spatial;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal Mapbox Vector Tile (v2) writer for a single layer of points.
+ *
+ * Hand-rolled protobuf: Tile.layers(3) -> Layer{version(15), name(1), features(2), keys(3), values(4), extent(5)},
+ * Feature{tags(2), type(3)=POINT, geometry(4)=[MoveTo(1), zigzag x, zigzag y]}.
+ * Property keys/values are dictionary-encoded per layer; values are strings or doubles.
+ */
+public final class MvtEncoder {
+
+    public static final int DEFAULT_EXTENT = 4096;
+
+    private static final int GEOM_POINT = 1;
+    private static final int CMD_MOVE_TO_ONCE = (1 & 0x7) | (1 << 3);
+
+    private MvtEncoder() {
+    }
+
+    /**
+     * x/y are tile-local (0..extent); properties with null values are skipped.
+     */
+    public record PointFeature(int x, int y, Map<String, Object> properties) {
+    }
+
+    public static byte[] encode(String layerName, int extent, List<PointFeature> features) {
+        if (features.isEmpty()) return new byte[0];
+
+        Map<String, Integer> keys = new LinkedHashMap<>();
+        Map<Object, Integer> values = new LinkedHashMap<>();
+
+        Pbf layer = new Pbf();
+        layer.varintField(15, 2);
+        layer.stringField(1, layerName);
+
+        for (PointFeature f : features) {
+            List<Integer> tags = new ArrayList<>();
+            f.properties().forEach((k, v) -> {
+                if (v == null) return;
+                Object value = v instanceof Number n && !(v instanceof Double) ? n.doubleValue() : v;
+                tags.add(keys.computeIfAbsent(k, x -> keys.size()));
+                tags.add(values.computeIfAbsent(value, x -> values.size()));
+            });
+
+            Pbf feature = new Pbf();
+            feature.packedField(2, tags.stream().mapToInt(Integer::intValue).toArray());
+            feature.varintField(3, GEOM_POINT);
+            feature.packedField(4, new int[]{CMD_MOVE_TO_ONCE, zigzag(f.x()), zigzag(f.y())});
+
+            layer.bytesField(2, feature.toByteArray());
+        }
+
+        for (String key : keys.keySet()) {
+            layer.stringField(3, key);
+        }
+        for (Object value : values.keySet()) {
+            Pbf v = new Pbf();
+            if (value instanceof Double d) {
+                v.doubleField(3, d);
+            } else {
+                v.stringField(1, value.toString());
+            }
+            layer.bytesField(4, v.toByteArray());
+        }
+        layer.varintField(5, extent);
+
+        Pbf tile = new Pbf();
+        tile.bytesField(3, layer.toByteArray());
+        return tile.toByteArray();
+    }
+
+    private static int zigzag(int n) {
+        return (n << 1) ^ (n >> 31);
+    }
+
+    /**
+     * Just enough protobuf wire format for the fields above.
+     */
+    private static final class Pbf {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        void varintField(int field, long value) {
+            varint((long) field << 3);
+            varint(value);
+        }
+
+        void doubleField(int field, double value) {
+            varint(((long) field << 3) | 1);
+            long bits = Double.doubleToLongBits(value);
+            for (int i = 0; i < 8; i++) {
+                out.write((int) (bits >>> (8 * i)) & 0xff);
+            }
+        }
+
+        void stringField(int field, String value) {
+            bytesField(field, value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void bytesField(int field, byte[] bytes) {
+            varint(((long) field << 3) | 2);
+            varint(bytes.length);
+            out.writeBytes(bytes);
+        }
+
+        void packedField(int field, int[] values) {
+            Pbf packed = new Pbf();
+            for (int v : values) {
+                packed.varint(v & 0xffffffffL);
+            }
+            bytesField(field, packed.toByteArray());
+        }
+
+        void varint(long value) {
+            while ((value & ~0x7fL) != 0) {
+                out.write((int) ((value & 0x7f) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.vacanza.backend.spatial;
+
+import com.vacanza.backend.config.PoiProperties;
+import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO;
+import com.vacanza.backend.entity.PointOfInterest;
+import com.vacanza.backend.event.PoisIngestedEvent;
+import com.vacanza.backend.repo.PoiClusterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * POI count per (GeoTile, category), kept in memory for the countsByCategory of search-in-area.
+ *
+ * - viewport counts = sum over the tiles fully inside the bbox (from memory)
+ *                   + one DB query over the partially covered boundary tiles
+ * - loaded once on startup (GROUP BY tile x category), then updated incrementally from PoisIngestedEvent
+ *
+ * Like PoiSpatialIndex it only sees ingests of this instance. Enabled with poi.counts.enabled=true,
+ * otherwise isReady() is always false and PoiSearchService keeps grouping in the DB.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PoiCategoryTileCounts {
+
+    private static final PoiSearchInAreaRequestDTO.Bbox WORLD =
+            new PoiSearchInAreaRequestDTO.Bbox(-90.0, -180.0, 90.0, 180.0);
+
+    private final PoiClusterRepository clusterRepository;
+    private final PoiProperties properties;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<GeoTile, Map<String, Integer>> tiles = new HashMap<>();
+
+    private volatile boolean ready = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!properties.getCounts().isEnabled()) return;
+
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            tiles.clear();
+            for (var row : clusterRepository.countByCell(WORLD, List.of(), tileSize())) {
+                tiles.computeIfAbsent(row.cell(), t -> new HashMap<>()).merge(row.category(), row.count(), Integer::sum);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+
+        log.info("POI category tile counts loaded: {} tiles ({} ms)", tiles.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPoisIngested(PoisIngestedEvent event) {
+        if (!ready) return;
+        addAll(event.pois());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void addAll(Collection<PointOfInterest> pois) {
+        lock.writeLock().lock();
+        try {
+            for (PointOfInterest p : pois) {
+                if (p.getLatitude() == null || p.getLongitude() == null) continue;
+                tiles.computeIfAbsent(GeoTile.of(p.getLatitude(), p.getLongitude(), tileSize()), t -> new HashMap<>())
+                        .merge(p.getCategory(), 1, Integer::sum);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Same result as GROUP BY category over the bbox (empty categories => all).
+     * null when the bbox has no fully covered tile; the caller should group in the DB then.
+     */
+    public Map<String, Integer> countByCategory(PoiSearchInAreaRequestDTO.Bbox b, List<String> categories) {
+        double size = tileSize();
+        GeoTile min = GeoTile.of(b.getMinLat(), b.getMinLng(), size);
+        GeoTile max = GeoTile.of(b.getMaxLat(), b.getMaxLng(), size);
+
+        // tiles strictly between the boundary rows/cols are fully covered (same rule as PoiSpatialIndex)
+        int r0 = min.row() + 1, r1 = max.row() - 1;
+        int c0 = min.col() + 1, c1 = max.col() - 1;
+        if (r0 > r1 || c0 > c1) return null;
+
+        Map<String, Integer> counts = clusterRepository.countByCategoryOutsideCells(
+                b, categories, size, new GeoTile(r0, c0), new GeoTile(r1, c1));
+
+        lock.readLock().lock();
+        try {
+            long spanned = (long) (r1 - r0 + 1) * (c1 - c0 + 1);
+
+            if (spanned <= tiles.size()) {
+                for (int r = r0; r <= r1; r++) {
+                    for (int c = c0; c <= c1; c++) {
+                        Map<String, Integer> tile = tiles.get(new GeoTile(r, c));
+                        if (tile != null) add(tile, categories, counts);
+                    }
+                }
+            } else {
+                // very large bbox: cheaper to walk the occupied tiles than the empty grid
+                for (Map.Entry<GeoTile, Map<String, Integer>> e : tiles.entrySet()) {
+                    GeoTile t = e.getKey();
+                    if (t.row() < r0 || t.row() > r1 || t.col() < c0 || t.col() > c1) continue;
+                    add(e.getValue(), categories, counts);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return counts;
+    }
+
+    private static void add(Map<String, Integer> tile, List<String> categories, Map<String, Integer> counts) {
+        tile.forEach((category, n) -> {
+            if (categories.isEmpty() || categories.contains(category)) counts.merge(category, n, Integer::sum);
+        });
+    }
+
+    private double tileSize() {
+        return properties.getCounts().getTileSizeDegrees();
+    }
+}
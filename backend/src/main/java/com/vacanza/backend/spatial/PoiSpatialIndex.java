@@ -0,0 +1,336 @@
+package com.vacanza.backend.spatial;
+
+import com.vacanza.backend.config.PoiConfig;
+import com.vacanza.backend.config.PoiProperties;
+import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO;
+import com.vacanza.backend.event.PoisIngestedEvent;
+import com.vacanza.backend.repo.PoiSummary;
+import com.vacanza.backend.repo.PointOfInterestRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Uniform lat/lng grid over points_of_interest, kept in memory.
+ *
+ * - every cell keeps primitive lat/lng arrays + dictionary encoded category codes
+ * - bbox query only visits the cells overlapping the bbox;
+ *   cells fully inside the bbox skip the per-point coordinate test
+ * - loaded once on startup, then upserted incrementally from PoisIngestedEvent
+ * - rebuilt from the table every poi.index.refresh-interval, which picks up rows
+ *   written or deleted by other instances and by hand; reads keep the old grid until the swap
+ *
+ * Enabled with poi.index.enabled=true, otherwise isReady() is always false
+ * and PoiSearchService keeps using the DB.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PoiSpatialIndex {
+
+    private final PointOfInterestRepository poiRepository;
+    private final PoiProperties properties;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Grid grid = new Grid();
+
+    // ingested while a rebuild reads the table, applied on top of the new grid; null when no rebuild runs
+    private List<PoiSummary> ingestedDuringRebuild;
+
+    private volatile boolean ready = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!properties.getIndex().isEnabled()) return;
+
+        long start = System.currentTimeMillis();
+        rebuild();
+        ready = true;
+
+        log.info("POI spatial index loaded: {} pois in {} cells ({} ms)",
+                size(), cellCount(), System.currentTimeMillis() - start);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${poi.index.refresh-interval:15m}",
+            initialDelayString = "${poi.index.refresh-interval:15m}",
+            scheduler = PoiConfig.INDEX_SCHEDULER
+    )
+    public void refresh() {
+        if (!ready) return;
+
+        long start = System.currentTimeMillis();
+        try {
+            rebuild();
+        } catch (RuntimeException ex) {
+            // keep serving the previous grid
+            log.warn("POI spatial index refresh failed: {}", ex.getMessage());
+            return;
+        }
+
+        log.info("POI spatial index refreshed: {} pois in {} cells ({} ms)",
+                size(), cellCount(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPoisIngested(PoisIngestedEvent event) {
+        if (!properties.getIndex().isEnabled()) return;
+        upsertAll(event.pois().stream().map(PoiSummary::of).toList());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return grid.cellOfPoi.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the POIs; an already indexed poiId is replaced (moved to its new cell if needed).
+     */
+    public void upsertAll(Collection<PoiSummary> pois) {
+        lock.writeLock().lock();
+        try {
+            double size = cellSize();
+            for (PoiSummary p : pois) grid.upsert(p, size);
+            if (ingestedDuringRebuild != null) ingestedDuringRebuild.addAll(pois);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reads the whole table into a new grid without holding the lock, then swaps it in.
+     */
+    private void rebuild() {
+        lock.writeLock().lock();
+        try {
+            ingestedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Grid fresh = null;
+        try {
+            double size = cellSize();
+            Grid loaded = new Grid();
+            for (PoiSummary p : poiRepository.findAllSummaries()) loaded.upsert(p, size);
+            fresh = loaded;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (fresh != null) {
+                    for (PoiSummary p : ingestedDuringRebuild) fresh.upsert(p, cellSize());
+                    grid = fresh;
+                }
+                ingestedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private int cellCount() {
+        lock.readLock().lock();
+        try {
+            return grid.cells.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Same result set as findSummariesInBbox(AndCategoryIn).
+     * Empty categories => no category filter. Returned list is mutable (caller sorts it).
+     */
+    public List<PoiSummary> query(PoiSearchInAreaRequestDTO.Bbox b, Collection<String> categories) {
+        double minLat = b.getMinLat(), maxLat = b.getMaxLat();
+        double minLng = b.getMinLng(), maxLng = b.getMaxLng();
+
+        int r0 = row(minLat), r1 = row(maxLat);
+        int c0 = col(minLng), c1 = col(maxLng);
+
+        List<PoiSummary> out = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Cell> cells = grid.cells;
+            boolean[] wanted = grid.wantedCategories(categories);
+            if (wanted != null && wanted.length == 0) return out; // none of the categories is known
+
+            long spanned = (long) (r1 - r0 + 1) * (c1 - c0 + 1);
+
+            if (spanned <= cells.size()) {
+                for (int r = r0; r <= r1; r++) {
+                    for (int c = c0; c <= c1; c++) {
+                        Cell cell = cells.get(cellKey(r, c));
+                        if (cell != null) {
+                            collect(cell, interior(r, c, r0, r1, c0, c1), minLat, maxLat, minLng, maxLng, wanted, out);
+                        }
+                    }
+                }
+            } else {
+                // very large bbox: cheaper to walk the occupied cells than the empty grid
+                for (Map.Entry<Long, Cell> e : cells.entrySet()) {
+                    int r = (int) (e.getKey() >> 32);
+                    int c = (int) (long) e.getKey();
+                    if (r < r0 || r > r1 || c < c0 || c > c1) continue;
+                    collect(e.getValue(), interior(r, c, r0, r1, c0, c1), minLat, maxLat, minLng, maxLng, wanted, out);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return out;
+    }
+
+    // ================= HELPERS =================
+
+    /**
+     * Cells strictly between the boundary rows/cols are fully covered by the bbox
+     * (row()/col() are monotonic, so no floating point edge cases).
+     */
+    private static boolean interior(int r, int c, int r0, int r1, int c0, int c1) {
+        return r > r0 && r < r1 && c > c0 && c < c1;
+    }
+
+    private void collect(
+            Cell cell, boolean fullyInside,
+            double minLat, double maxLat, double minLng, double maxLng,
+            boolean[] wanted,
+            List<PoiSummary> out
+    ) {
+        for (int i = 0; i < cell.size; i++) {
+            if (wanted != null) {
+                short code = cell.categories[i];
+                if (code >= wanted.length || !wanted[code]) continue;
+            }
+            if (!fullyInside) {
+                double lat = cell.lats[i], lng = cell.lngs[i];
+                if (lat < minLat || lat > maxLat || lng < minLng || lng > maxLng) continue;
+            }
+            out.add(cell.pois[i]);
+        }
+    }
+
+    private int row(double lat) {
+        return row(lat, cellSize());
+    }
+
+    private int col(double lng) {
+        return col(lng, cellSize());
+    }
+
+    private static int row(double lat, double size) {
+        return (int) Math.floor((lat + 90) / size);
+    }
+
+    private static int col(double lng, double size) {
+        return (int) Math.floor((lng + 180) / size);
+    }
+
+    private double cellSize() {
+        return properties.getIndex().getCellSizeDegrees();
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    /**
+     * Cells plus the cell of every indexed poiId. Category codes only grow, so codes stay
+     * valid inside one grid; a rebuilt grid starts its own dictionary.
+     */
+    private static final class Grid {
+        private final Map<Long, Cell> cells = new HashMap<>();
+        private final Map<UUID, Long> cellOfPoi = new HashMap<>();
+        private final Map<String, Short> categoryCodes = new HashMap<>();
+
+        void upsert(PoiSummary p, double size) {
+            if (p.poiId() == null || p.latitude() == null || p.longitude() == null) return;
+
+            Long previous = cellOfPoi.get(p.poiId());
+            if (previous != null) {
+                Cell cell = cells.get(previous);
+                cell.remove(p.poiId());
+                if (cell.size == 0) cells.remove(previous);
+            }
+
+            long key = cellKey(row(p.latitude(), size), col(p.longitude(), size));
+            cells.computeIfAbsent(key, k -> new Cell()).add(p, categoryCode(p.category()));
+            cellOfPoi.put(p.poiId(), key);
+        }
+
+        /**
+         * null => no filter, empty array => no known category requested.
+         */
+        boolean[] wantedCategories(Collection<String> categories) {
+            if (categories == null || categories.isEmpty()) return null;
+
+            boolean[] wanted = null;
+            for (String category : categories) {
+                Short code = categoryCodes.get(category);
+                if (code == null) continue;
+                if (wanted == null) wanted = new boolean[categoryCodes.size()];
+                wanted[code] = true;
+            }
+            return wanted != null ? wanted : new boolean[0];
+        }
+
+        private short categoryCode(String category) {
+            return categoryCodes.computeIfAbsent(category, k -> (short) categoryCodes.size());
+        }
+    }
+
+    private static final class Cell {
+        private double[] lats = new double[8];
+        private double[] lngs = new double[8];
+        private short[] categories = new short[8];
+        private PoiSummary[] pois = new PoiSummary[8];
+        private int size = 0;
+
+        void add(PoiSummary p, short category) {
+            if (size == lats.length) {
+                int n = size * 2;
+                lats = Arrays.copyOf(lats, n);
+                lngs = Arrays.copyOf(lngs, n);
+                categories = Arrays.copyOf(categories, n);
+                pois = Arrays.copyOf(pois, n);
+            }
+            lats[size] = p.latitude();
+            lngs[size] = p.longitude();
+            categories[size] = category;
+            pois[size] = p;
+            size++;
+        }
+
+        // order inside a cell does not matter: the last entry takes the removed slot
+        void remove(UUID poiId) {
+            for (int i = 0; i < size; i++) {
+                if (!poiId.equals(pois[i].poiId())) continue;
+
+                size--;
+                lats[i] = lats[size];
+                lngs[i] = lngs[size];
+                categories[i] = categories[size];
+                pois[i] = pois[size];
+                pois[size] = null;
+                return;
+            }
+        }
+    }
+}
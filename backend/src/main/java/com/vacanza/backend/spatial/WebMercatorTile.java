@@ -0,0 +1,63 @@
+package com.vacanza.backend.spatial;
+
+import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO;
+
+/**
+ * Slippy-map tile z/x/y (web mercator, y down from the north edge).
+ */
+public record WebMercatorTile(int z, int x, int y) {
+
+    public static final int MAX_ZOOM = 22;
+
+    // mercator is cut at +-85.0511 so the world is square
+    private static final double MAX_LAT = 85.05112878;
+
+    public boolean isValid() {
+        if (z < 0 || z > MAX_ZOOM) return false;
+        int n = 1 << z;
+        return x >= 0 && x < n && y >= 0 && y < n;
+    }
+
+    public static WebMercatorTile containing(double lat, double lng, int z) {
+        int n = 1 << z;
+        int x = (int) Math.floor(worldX(lng) * n);
+        int y = (int) Math.floor(worldY(lat) * n);
+        return new WebMercatorTile(z, Math.min(Math.max(x, 0), n - 1), Math.min(Math.max(y, 0), n - 1));
+    }
+
+    public PoiSearchInAreaRequestDTO.Bbox bbox() {
+        int n = 1 << z;
+        return new PoiSearchInAreaRequestDTO.Bbox(
+                lat(y + 1, n),
+                (double) x / n * 360 - 180,
+                lat(y, n),
+                (double) (x + 1) / n * 360 - 180
+        );
+    }
+
+    /**
+     * Tile-local pixel position for an MVT layer of the given extent ({x, y}, origin top-left).
+     */
+    public int[] project(double lat, double lng, int extent) {
+        int n = 1 << z;
+        return new int[]{
+                (int) Math.round((worldX(lng) * n - x) * extent),
+                (int) Math.round((worldY(lat) * n - y) * extent)
+        };
+    }
+
+    // 0..1 from the west edge
+    private static double worldX(double lng) {
+        return (lng + 180) / 360;
+    }
+
+    // 0..1 from the north edge
+    private static double worldY(double lat) {
+        double rad = Math.toRadians(Math.max(-MAX_LAT, Math.min(MAX_LAT, lat)));
+        return (1 - Math.log(Math.tan(rad) + 1 / Math.cos(rad)) / Math.PI) / 2;
+    }
+
+    private static double lat(int y, int n) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2.0 * y / n))));
+    }
+}
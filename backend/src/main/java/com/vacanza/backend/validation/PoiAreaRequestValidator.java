@@ -1,18 +1,32 @@
 package com.vacanza.backend.validation;
 
+import com.vacanza.backend.config.PoiProperties;
+import com.vacanza.backend.dto.request.PoiNameSearchRequestDTO;
+import com.vacanza.backend.dto.request.PoiNearbyRequestDTO;
 import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO;
+import com.vacanza.backend.dto.response.PoiSearchInAreaResponseDTO;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.Arrays;
 import java.util.List;
 
 @Component
+@RequiredArgsConstructor
 public class PoiAreaRequestValidator {
 
     private static final int DEFAULT_LIMIT = 200;
     private static final int MAX_LIMIT = 500;
     private static final int MAX_POLYGON_VERTICES = 200;
+    private static final int MAX_ZOOM = 22;
+    private static final int MAX_NEARBY_LIMIT = 200;
+    private static final int MAX_NAME_SEARCH_LIMIT = 50;
+    private static final int MAX_QUERY_LENGTH = 100;
+    private static final int MAX_QUERY_TERMS = 5;
+
+    private final PoiProperties properties;
 
     public void validate(PoiSearchInAreaRequestDTO req) {
         require(req != null, HttpStatus.BAD_REQUEST, "REQ_NULL", "request body is required");
@@ -25,6 +39,23 @@ public class PoiAreaRequestValidator {
         require(limit > 0, HttpStatus.BAD_REQUEST, "LIMIT_INVALID", "limit must be > 0");
         require(limit <= MAX_LIMIT, HttpStatus.UNPROCESSABLE_ENTITY, "LIMIT_TOO_LARGE", "limit must be <= " + MAX_LIMIT);
 
+        if (req.getZoom() != null) {
+            require(req.getZoom() >= 0 && req.getZoom() <= MAX_ZOOM,
+                    HttpStatus.UNPROCESSABLE_ENTITY, "ZOOM_OUT_OF_RANGE", "zoom must be between 0 and " + MAX_ZOOM);
+        }
+        if (req.getClusterCellDegrees() != null) {
+            require(req.getClusterCellDegrees() > 0 && req.getClusterCellDegrees() <= 180,
+                    HttpStatus.BAD_REQUEST, "CLUSTER_CELL_INVALID", "clusterCellDegrees must be > 0 and <= 180");
+        }
+
+        if (req.getFields() != null) {
+            for (String field : req.getFields()) {
+                require(PoiSearchInAreaResponseDTO.PoiSummaryDTO.FIELDS.contains(field),
+                        HttpStatus.BAD_REQUEST, "FIELDS_INVALID",
+                        "unknown field '" + field + "', allowed: " + PoiSearchInAreaResponseDTO.PoiSummaryDTO.FIELDS);
+            }
+        }
+
         if (req.getSelectionType() == PoiSearchInAreaRequestDTO.SelectionType.BBOX) {
             validateBbox(req.getBbox());
         } else {
@@ -32,6 +63,45 @@ public class PoiAreaRequestValidator {
         }
     }
 
+    public void validate(PoiNearbyRequestDTO req) {
+        require(req != null, HttpStatus.BAD_REQUEST, "REQ_NULL", "request is required");
+        validateLatLng(req.getLat(), req.getLng());
+
+        if (req.getLimit() != null) {
+            require(req.getLimit() > 0, HttpStatus.BAD_REQUEST, "LIMIT_INVALID", "limit must be > 0");
+            require(req.getLimit() <= MAX_NEARBY_LIMIT,
+                    HttpStatus.UNPROCESSABLE_ENTITY, "LIMIT_TOO_LARGE", "limit must be <= " + MAX_NEARBY_LIMIT);
+        }
+
+        if (req.getRadiusMeters() != null) {
+            double maxRadius = properties.getNearby().getMaxRadiusMeters();
+            require(req.getRadiusMeters() > 0, HttpStatus.BAD_REQUEST, "RADIUS_INVALID", "radiusMeters must be > 0");
+            require(req.getRadiusMeters() <= maxRadius,
+                    HttpStatus.UNPROCESSABLE_ENTITY, "RADIUS_TOO_LARGE", "radiusMeters must be <= " + maxRadius);
+        }
+    }
+
+    public void validate(PoiNameSearchRequestDTO req) {
+        require(req != null, HttpStatus.BAD_REQUEST, "REQ_NULL", "request is required");
+        require(req.getQ() != null && !req.getQ().isBlank(), HttpStatus.BAD_REQUEST, "QUERY_REQUIRED", "q is required");
+        require(req.getQ().length() <= MAX_QUERY_LENGTH,
+                HttpStatus.UNPROCESSABLE_ENTITY, "QUERY_TOO_LONG", "q must be <= " + MAX_QUERY_LENGTH + " characters");
+        // every term is one more LIKE the rows must pass; reject instead of silently dropping the rest
+        require(Arrays.stream(req.getQ().trim().split("\\s+")).distinct().count() <= MAX_QUERY_TERMS,
+                HttpStatus.UNPROCESSABLE_ENTITY, "QUERY_TOO_MANY_TERMS", "q must have <= " + MAX_QUERY_TERMS + " words");
+
+        if (req.getLimit() != null) {
+            require(req.getLimit() > 0, HttpStatus.BAD_REQUEST, "LIMIT_INVALID", "limit must be > 0");
+            require(req.getLimit() <= MAX_NAME_SEARCH_LIMIT,
+                    HttpStatus.UNPROCESSABLE_ENTITY, "LIMIT_TOO_LARGE", "limit must be <= " + MAX_NAME_SEARCH_LIMIT);
+        }
+
+        boolean anyBbox = req.getMinLat() != null || req.getMinLng() != null || req.getMaxLat() != null || req.getMaxLng() != null;
+        if (anyBbox) {
+            validateBbox(new PoiSearchInAreaRequestDTO.Bbox(req.getMinLat(), req.getMinLng(), req.getMaxLat(), req.getMaxLng()));
+        }
+    }
+
     private void validateBbox(PoiSearchInAreaRequestDTO.Bbox b) {
         require(b != null, HttpStatus.BAD_REQUEST, "BBOX_REQUIRED", "bbox is required for selectionType=BBOX");
 
@@ -0,0 +1,9 @@
+-- Name search / typeahead (GET /pois/search, PoiNameSearchRepository).
+-- Both indexes are on lower(name), the expression the queries filter on.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- substring / multi-word matches: lower(name) LIKE '%term%' (terms of 3+ characters)
+CREATE INDEX IF NOT EXISTS idx_poi_name_trgm ON points_of_interest USING GIN (lower(name) gin_trgm_ops);
+
+-- 1-2 character typeahead: lower(name) LIKE 'te%' as a B-tree range scan
+CREATE INDEX IF NOT EXISTS idx_poi_name_prefix ON points_of_interest (lower(name) text_pattern_ops);
@@ -0,0 +1,13 @@
+-- Spatial search path (poi.search.backend=postgis).
+-- geom is a generated column, so it always follows latitude/longitude and JPA never writes it.
+CREATE EXTENSION IF NOT EXISTS postgis;
+
+ALTER TABLE points_of_interest
+    ADD COLUMN IF NOT EXISTS geom geometry(Point, 4326)
+        GENERATED ALWAYS AS (ST_SetSRID(ST_MakePoint(longitude, latitude), 4326)) STORED;
+
+-- bbox (&&) and polygon (ST_Intersects) search
+CREATE INDEX IF NOT EXISTS idx_poi_geom ON points_of_interest USING GIST (geom);
+
+-- radius search in meters (ST_DWithin on geography)
+CREATE INDEX IF NOT EXISTS idx_poi_geog ON points_of_interest USING GIST ((geom::geography));
@@ -0,0 +1,240 @@
+package com.vacanza.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.vacanza.backend.dto.response.PoiSearchInAreaResponseDTO;
+import com.vacanza.backend.dto.response.PoiSearchInAreaResponseDTO.PoiClusterDTO;
+import com.vacanza.backend.dto.response.PoiSearchInAreaResponseDTO.PoiSummaryDTO;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Encodes with the converter, decodes with an independent reader of the documented layout and
+ * compares the result with the JSON the same DTO is served as.
+ */
+class PoiAreaBinaryMessageConverterTest {
+
+    private final ObjectMapper json = new ObjectMapper().setFilterProvider(new SimpleFilterProvider()
+            .addFilter(PoiSummaryDTO.FIELD_FILTER, SimpleBeanPropertyFilter.serializeAll()));
+
+    @Test
+    void poisRoundTripToTheJsonResponse() throws Exception {
+        Random rnd = new Random(7);
+        List<PoiSummaryDTO> pois = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            pois.add(PoiSummaryDTO.builder()
+                    .poiId(UUID.randomUUID())
+                    .name(i % 9 == 0 ? null : "Café ü " + i)
+                    .category(i % 11 == 0 ? null : List.of("cafe", "museum", "parks").get(i % 3))
+                    // both signs: deltas go negative, exercising zig-zag
+                    .latitude(micro(-33.5 + rnd.nextDouble()))
+                    .longitude(micro(i % 2 == 0 ? 151.2 + rnd.nextDouble() : -0.1 - rnd.nextDouble()))
+                    .rating(i % 4 == 0 ? null : rnd.nextInt(501) / 100.0)
+                    .priceLevel(i % 5 == 0 ? "$$" : null)
+                    .externalId("ext-" + i)
+                    .build());
+        }
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        counts.put("cafe", 100);
+        counts.put("museum", 100);
+        counts.put("restaurant", 0);
+
+        PoiSearchInAreaResponseDTO dto = PoiSearchInAreaResponseDTO.builder()
+                .count(12_345)
+                .pois(pois)
+                .countsByCategory(counts)
+                .nextCursor("eyJrIjoxLjV9")
+                .build();
+
+        assertSameAsJson(dto);
+    }
+
+    @Test
+    void clustersRoundTripToTheJsonResponse() throws Exception {
+        PoiSummaryDTO representative = PoiSummaryDTO.builder()
+                .poiId(UUID.randomUUID()).name("Louvre").category("museum")
+                .latitude(48.860611).longitude(2.337644).rating(4.7).externalId("louvre")
+                .build();
+
+        PoiSearchInAreaResponseDTO dto = PoiSearchInAreaResponseDTO.builder()
+                .count(3)
+                .pois(List.of())
+                .countsByCategory(Map.of("museum", 2, "cafe", 1))
+                .clusters(List.of(
+                        PoiClusterDTO.builder().latitude(48.86).longitude(2.3376).count(2)
+                                .countsByCategory(Map.of("museum", 2)).representative(representative).build(),
+                        PoiClusterDTO.builder().latitude(-48.86).longitude(-2.3376).count(1)
+                                .countsByCategory(Map.of("cafe", 1)).build()
+                ))
+                .build();
+
+        assertSameAsJson(dto);
+    }
+
+    @Test
+    void handDecodedFixture() {
+        PoiSearchInAreaResponseDTO dto = PoiSearchInAreaResponseDTO.builder()
+                .count(300)
+                .pois(List.of(
+                        PoiSummaryDTO.builder().poiId(new UUID(1, 2)).name("A").category("cafe")
+                                .latitude(0.000001).longitude(-0.000001).rating(null).build()
+                ))
+                .countsByCategory(Map.of("cafe", 1))
+                .build();
+
+        byte[] expected = {
+                1,                              // version
+                (byte) 0xac, 0x02,              // count 300
+                0,                              // nextCursor null
+                1, 5, 'c', 'a', 'f', 'e',       // dictionary ["cafe"]
+                1, 0, 1,                        // countsByCategory {cafe: 1}
+                1, 1,                           // 1 row, 1 poi
+                0, 0, 0, 0, 0, 0, 0, 1,         // poiId msb
+                0, 0, 0, 0, 0, 0, 0, 2,         // poiId lsb
+                1,                              // category #0
+                2,                              // lat +1 (zig-zag)
+                1,                              // lng -1 (zig-zag)
+                0,                              // rating null
+                2, 'A',                         // name
+                0,                              // priceLevel null
+                0,                              // externalId null
+                0                               // no clusters
+        };
+
+        assertArrayEquals(expected, PoiAreaBinaryMessageConverter.encode(dto));
+    }
+
+    private void assertSameAsJson(PoiSearchInAreaResponseDTO dto) throws Exception {
+        byte[] binary = PoiAreaBinaryMessageConverter.encode(dto);
+        byte[] served = json.writeValueAsBytes(dto);
+
+        assertEquals(json.readTree(served), json.readTree(json.writeValueAsBytes(decode(binary))));
+        assertTrue(binary.length < served.length, binary.length + " >= " + served.length);
+    }
+
+    private static double micro(double degrees) {
+        return Math.round(degrees * 1e6) / 1e6;
+    }
+
+    // independent reader of the layout documented on PoiAreaBinaryMessageConverter
+    private static PoiSearchInAreaResponseDTO decode(byte[] bytes) {
+        In in = new In(bytes);
+        assertEquals(1, in.buffer.get());
+
+        PoiSearchInAreaResponseDTO dto = new PoiSearchInAreaResponseDTO();
+        dto.setCount((int) in.varint());
+        dto.setNextCursor(in.string());
+
+        List<String> dictionary = new ArrayList<>();
+        for (int i = (int) in.varint(); i > 0; i--) dictionary.add(in.string());
+        dto.setCountsByCategory(in.categoryCounts(dictionary));
+
+        int rows = (int) in.varint();
+        int poiCount = (int) in.varint();
+        List<PoiSummaryDTO> summaries = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            summaries.add(PoiSummaryDTO.builder().poiId(new UUID(in.buffer.getLong(), in.buffer.getLong())).build());
+        }
+        for (PoiSummaryDTO s : summaries) {
+            int category = (int) in.varint();
+            s.setCategory(category == 0 ? null : dictionary.get(category - 1));
+        }
+        double[] lat = in.deltas(rows);
+        double[] lng = in.deltas(rows);
+        for (int i = 0; i < rows; i++) {
+            summaries.get(i).setLatitude(lat[i]);
+            summaries.get(i).setLongitude(lng[i]);
+        }
+        for (PoiSummaryDTO s : summaries) {
+            long rating = in.varint();
+            s.setRating(rating == 0 ? null : (rating - 1) / 100.0);
+        }
+        for (PoiSummaryDTO s : summaries) s.setName(in.string());
+        for (PoiSummaryDTO s : summaries) s.setPriceLevel(in.string());
+        for (PoiSummaryDTO s : summaries) s.setExternalId(in.string());
+        dto.setPois(new ArrayList<>(summaries.subList(0, poiCount)));
+
+        int clusterCount = (int) in.varint() - 1;
+        if (clusterCount >= 0) {
+            List<PoiClusterDTO> clusters = new ArrayList<>();
+            double[] clat = in.deltas(clusterCount);
+            double[] clng = in.deltas(clusterCount);
+            for (int i = 0; i < clusterCount; i++) {
+                clusters.add(PoiClusterDTO.builder().latitude(clat[i]).longitude(clng[i]).build());
+            }
+            for (PoiClusterDTO c : clusters) c.setCount((int) in.varint());
+            for (PoiClusterDTO c : clusters) c.setCountsByCategory(in.categoryCounts(dictionary));
+            for (PoiClusterDTO c : clusters) {
+                int row = (int) in.varint();
+                c.setRepresentative(row == 0 ? null : summaries.get(row - 1));
+            }
+            dto.setClusters(clusters);
+        }
+
+        assertFalse(in.buffer.hasRemaining());
+        return dto;
+    }
+
+    private static final class In {
+
+        final ByteBuffer buffer;
+
+        In(byte[] bytes) {
+            this.buffer = ByteBuffer.wrap(bytes);
+        }
+
+        long varint() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                int b = buffer.get() & 0xff;
+                value |= (long) (b & 0x7f) << shift;
+                if (b < 0x80) return value;
+            }
+        }
+
+        long zigzag() {
+            long n = varint();
+            return (n >>> 1) ^ -(n & 1);
+        }
+
+        String string() {
+            int length = (int) varint();
+            if (length == 0) return null;
+            byte[] bytes = new byte[length - 1];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        double[] deltas(int n) {
+            double[] values = new double[n];
+            long previous = 0;
+            for (int i = 0; i < n; i++) {
+                previous += zigzag();
+                values[i] = previous / 1e6;
+            }
+            return values;
+        }
+
+        Map<String, Integer> categoryCounts(List<String> dictionary) {
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            for (int i = (int) varint(); i > 0; i--) {
+                counts.put(dictionary.get((int) varint()), (int) varint());
+            }
+            return counts;
+        }
+    }
+}
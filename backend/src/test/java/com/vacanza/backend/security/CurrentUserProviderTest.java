@@ -0,0 +1,87 @@
+package com.vacanza.backend.security;
+
+import com.vacanza.backend.entity.User;
+import com.vacanza.backend.entity.enums.Role;
+import com.vacanza.backend.repo.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CurrentUserProviderTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserIdentityCache identityCache = mock(UserIdentityCache.class);
+    private final CurrentUserProvider provider = new CurrentUserProvider(userRepository, identityCache);
+
+    private final UserIdentity identity = new UserIdentity(UUID.randomUUID(), "uid-1", "a@b.c", Role.USER);
+
+    @BeforeEach
+    void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                identity, null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    @AfterEach
+    void clear() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void returnsTheUsersRow() {
+        User user = User.builder().userId(identity.userId()).firebaseUid("uid-1").build();
+        when(userRepository.findById(identity.userId())).thenReturn(Optional.of(user));
+
+        assertSame(user, provider.getCurrentUserEntity());
+        verify(identityCache, never()).invalidate("uid-1");
+    }
+
+    @Test
+    void userDeletedAfterBeingCachedIsUnauthorized() {
+        when(userRepository.findById(identity.userId())).thenReturn(Optional.empty());
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, provider::getCurrentUserEntity);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, ex.getStatusCode());
+        assertEquals("Authenticated user not found in database", ex.getReason());
+        // next request resolves the uid again instead of reusing the stale identity
+        verify(identityCache).invalidate("uid-1");
+    }
+
+    @Test
+    void existingUserPassesWithoutLoadingTheRow() {
+        when(userRepository.existsById(identity.userId())).thenReturn(true);
+
+        provider.requireCurrentUserExists(identity);
+
+        verify(userRepository, never()).findById(identity.userId());
+        verify(identityCache, never()).invalidate("uid-1");
+    }
+
+    @Test
+    void missingUserIsUnauthorizedWithoutLoadingTheRow() {
+        when(userRepository.existsById(identity.userId())).thenReturn(false);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> provider.requireCurrentUserExists(identity));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, ex.getStatusCode());
+        verify(identityCache).invalidate("uid-1");
+    }
+}
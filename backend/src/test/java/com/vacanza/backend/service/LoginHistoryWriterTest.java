@@ -0,0 +1,115 @@
+package com.vacanza.backend.service;
+
+import com.vacanza.backend.config.AuthProperties;
+import com.vacanza.backend.repo.LoginHistoryBatchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Synchronous login_history writes run in the caller's thread, usually inside the read-only
+ * transaction of /auth/me; they must open their own read-write transaction.
+ */
+class LoginHistoryWriterTest {
+
+    private final LoginHistoryBatchRepository batchRepository = mock(LoginHistoryBatchRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final TransactionStatus status = mock(TransactionStatus.class);
+    private final AuthProperties properties = new AuthProperties();
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(status);
+    }
+
+    private LoginHistoryWriter writer() {
+        return new LoginHistoryWriter(batchRepository, properties, transactionManager, new SimpleMeterRegistry());
+    }
+
+    private void assertRequiresNew(int transactions) {
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, times(transactions)).getTransaction(definition.capture());
+        for (TransactionDefinition d : definition.getAllValues()) {
+            assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, d.getPropagationBehavior());
+            assertFalse(d.isReadOnly());
+        }
+    }
+
+    @Test
+    void syncWriteRunsInItsOwnTransaction() {
+        properties.getLoginHistory().setAsync(false);
+        properties.getLoginHistory().setCoalesceWindow(Duration.ZERO);
+
+        writer().record(UUID.randomUUID(), "10.0.0.1");
+
+        InOrder order = inOrder(transactionManager, batchRepository);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(batchRepository).insertAll(anyList());
+        order.verify(transactionManager).commit(status);
+        assertRequiresNew(1);
+    }
+
+    @Test
+    void callerRunsOverflowWritesInItsOwnTransaction() {
+        properties.getLoginHistory().setQueueCapacity(1);
+        properties.getLoginHistory().setOverflowPolicy(AuthProperties.OverflowPolicy.CALLER_RUNS);
+        properties.getLoginHistory().setCoalesceWindow(Duration.ZERO);
+
+        LoginHistoryWriter writer = writer();
+        writer.record(UUID.randomUUID(), "10.0.0.1");
+        // queue full: written by the caller
+        writer.record(UUID.randomUUID(), "10.0.0.2");
+
+        verify(batchRepository, times(1)).insertAll(anyList());
+        assertRequiresNew(1);
+    }
+
+    @Test
+    void syncSessionUpdateRunsInItsOwnTransaction() {
+        properties.getLoginHistory().setAsync(false);
+
+        LoginHistoryWriter writer = writer();
+        UUID userId = UUID.randomUUID();
+        writer.record(userId, "10.0.0.1");
+        writer.record(userId, "10.0.0.1");
+        writer.flushOnShutdown();
+
+        ArgumentCaptor<List<LoginHistoryBatchRepository.SessionUpdate>> updates = ArgumentCaptor.captor();
+        verify(batchRepository).updateSessions(updates.capture());
+        assertEquals(2, updates.getValue().get(0).loginCount());
+        assertRequiresNew(2);
+    }
+
+    @Test
+    void failedSyncWriteIsRolledBackAndNotThrown() {
+        properties.getLoginHistory().setAsync(false);
+        properties.getLoginHistory().setCoalesceWindow(Duration.ZERO);
+        doThrow(new IllegalStateException("fk")).when(batchRepository).insertAll(anyList());
+
+        writer().record(UUID.randomUUID(), "10.0.0.1");
+
+        verify(transactionManager).rollback(status);
+        verify(transactionManager, never()).commit(any());
+    }
+}
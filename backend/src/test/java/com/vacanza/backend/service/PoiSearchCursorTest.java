@@ -0,0 +1,89 @@
+package com.vacanza.backend.service;
+
+import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO.SortType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PoiSearchCursorTest {
+
+    private static final UUID ID = UUID.fromString("0f8fad5b-d9cb-469f-a165-70867728950e");
+
+    @ParameterizedTest
+    @ValueSource(doubles = {-1.0, 0.0, -0.0, 4.5, 1e-300, 0.1 + 0.2, Double.MAX_VALUE})
+    void roundTripsTheExactKey(double key) {
+        for (SortType sort : SortType.values()) {
+            PoiSearchCursor cursor = new PoiSearchCursor(sort, key, ID);
+            PoiSearchCursor decoded = PoiSearchCursor.decode(cursor.encode(), sort);
+
+            assertEquals(cursor, decoded);
+            // bit-exact, not just ==: -0.0 and 0.0 stay apart
+            assertEquals(Double.doubleToLongBits(key), Double.doubleToLongBits(decoded.key()));
+        }
+    }
+
+    @Test
+    void isUrlSafe() {
+        String encoded = new PoiSearchCursor(SortType.DISTANCE_TO_CENTER, 0.123456789, ID).encode();
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"), encoded);
+    }
+
+    @Test
+    void rejectsACursorOfAnotherSort() {
+        String encoded = new PoiSearchCursor(SortType.RATING_DESC, 4.5, ID).encode();
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> PoiSearchCursor.decode(encoded, SortType.DISTANCE_TO_CENTER));
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        assertTrue(ex.getReason().startsWith("CURSOR_SORT_MISMATCH"), ex.getReason());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "not a cursor!",
+            "%%%",
+            "x",
+            "UkFUSU5HX0RFU0M",                                      // "RATING_DESC", no key / id
+            "UkFUSU5HX0RFU0M6eno6MGY4ZmFkNWItZDljYi00NjlmLWExNjUtNzA4Njc3Mjg5NTBl", // key "zz"
+            "UkFUSU5HX0RFU0M6NDAxMjAwMDAwMDAwMDAwMDpub3QtYS11dWlk",   // id "not-a-uuid"
+            "QllfTkFNRTo0MDEyMDAwMDAwMDAwMDAwOjBmOGZhZDViLWQ5Y2ItNDY5Zi1hMTY1LTcwODY3NzI4OTUwZQ" // sort "BY_NAME"
+    })
+    void rejectsGarbage(String cursor) {
+        assertInvalid(cursor);
+    }
+
+    @Test
+    void rejectsTamperedCursors() {
+        String encoded = new PoiSearchCursor(SortType.RATING_DESC, 4.5, ID).encode();
+
+        // truncated
+        assertInvalid(encoded.substring(0, encoded.length() / 2));
+        // key with more than 64 bits
+        assertInvalid(encode("RATING_DESC:1" + Long.toHexString(Double.doubleToLongBits(4.5)) + ":" + ID));
+        // extra field glued to the id
+        assertInvalid(encode("RATING_DESC:" + Long.toHexString(Double.doubleToLongBits(4.5)) + ":" + ID + ":1"));
+        // standard (non url-safe) base64 alphabet
+        assertInvalid(encoded.replace('-', '+').replace('_', '/') + "+/");
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void assertInvalid(String cursor) {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> PoiSearchCursor.decode(cursor, SortType.RATING_DESC));
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        assertTrue(ex.getReason().startsWith("CURSOR_INVALID"), ex.getReason());
+    }
+}
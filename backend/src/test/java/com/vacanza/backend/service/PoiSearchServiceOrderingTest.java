@@ -0,0 +1,163 @@
+package com.vacanza.backend.service;
+
+import com.vacanza.backend.config.PoiProperties;
+import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO;
+import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO.Bbox;
+import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO.SelectionType;
+import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO.SortType;
+import com.vacanza.backend.dto.response.PoiSearchInAreaResponseDTO;
+import com.vacanza.backend.repo.PoiClusterRepository;
+import com.vacanza.backend.repo.PoiSpatialRepository;
+import com.vacanza.backend.repo.PoiSummary;
+import com.vacanza.backend.repo.PointOfInterestRepository;
+import com.vacanza.backend.spatial.PoiCategoryTileCounts;
+import com.vacanza.backend.spatial.PoiSpatialIndex;
+import com.vacanza.backend.validation.PoiAreaRequestValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * RATING_DESC order is coalesce(rating, -1) desc, poiId asc (as text, like Postgres uuid order):
+ * null ratings last, ties broken by id, so offset and cursor pages neither repeat nor skip rows.
+ * Runs the in-memory path (PoiSpatialIndex), which mirrors the SQL ORDER BY / keyset seek.
+ */
+class PoiSearchServiceOrderingTest {
+
+    private static final Bbox BBOX = new Bbox(41.0, 29.0, 41.1, 29.1);
+
+    private final PoiSpatialIndex spatialIndex = mock(PoiSpatialIndex.class);
+    private final PoiSearchCache searchCache = mock(PoiSearchCache.class);
+    private final List<PoiSummary> rows = new ArrayList<>();
+
+    private PoiSearchService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PoiSearchService(
+                mock(PointOfInterestRepository.class),
+                mock(PoiIngestCoordinator.class),
+                mock(PoiAreaRequestValidator.class),
+                spatialIndex,
+                mock(PoiSpatialRepository.class),
+                new PoiProperties(),
+                searchCache,
+                mock(PoiPrefetchService.class),
+                mock(PoiCoverageService.class),
+                mock(PoiClusterRepository.class),
+                mock(PoiCategoryTileCounts.class)
+        );
+        when(searchCache.isEnabled()).thenReturn(false);
+        when(spatialIndex.isReady()).thenReturn(true);
+        // the service sorts the returned list in place
+        when(spatialIndex.query(any(), any())).thenAnswer(inv -> new ArrayList<>(rows));
+
+        Random rnd = new Random(5);
+        for (int i = 0; i < 250; i++) {
+            // few distinct ratings: long runs of ties, plus nulls
+            Double rating = i % 6 == 0 ? null : rnd.nextInt(5) + (rnd.nextBoolean() ? 0.5 : 0.0);
+            rows.add(poi(rating, 41.0 + rnd.nextDouble() * 0.1, 29.0 + rnd.nextDouble() * 0.1));
+        }
+        // a 0.0 rating still sorts above the nulls (-1)
+        rows.add(poi(0.0, 41.05, 29.05));
+    }
+
+    @Test
+    void nullRatingsSortLastAndTiesById() {
+        List<UUID> expected = rows.stream()
+                .sorted(Comparator.<PoiSummary>comparingDouble(p -> p.rating() != null ? p.rating() : -1).reversed()
+                        .thenComparing(p -> p.poiId().toString()))
+                .map(PoiSummary::poiId)
+                .toList();
+
+        List<PoiSummary> all = pagesByOffset(SortType.RATING_DESC, 17);
+        assertEquals(expected, all.stream().map(PoiSummary::poiId).toList());
+
+        int firstNull = 0;
+        while (all.get(firstNull).rating() != null) firstNull++;
+        for (int i = firstNull; i < all.size(); i++) assertNull(all.get(i).rating(), "rated row after a null rating");
+    }
+
+    @Test
+    void offsetAndCursorPagesAgree() {
+        for (SortType sort : SortType.values()) {
+            for (int limit : new int[]{1, 7, 50, 300}) {
+                List<UUID> byOffset = pagesByOffset(sort, limit).stream().map(PoiSummary::poiId).toList();
+                List<UUID> byCursor = pagesByCursor(sort, limit);
+
+                assertEquals(rows.size(), new HashSet<>(byOffset).size(), sort + " limit=" + limit);
+                assertEquals(byOffset, byCursor, sort + " limit=" + limit);
+            }
+        }
+    }
+
+    @Test
+    void cursorPagesIgnoreRowsInsertedBeforeThem() {
+        PoiSearchInAreaResponseDTO first = search(SortType.RATING_DESC, 0, 20, null);
+        List<UUID> seen = new ArrayList<>(first.getPois().stream().map(PoiSearchInAreaResponseDTO.PoiSummaryDTO::getPoiId).toList());
+
+        // a new top-rated row lands on an already returned page
+        rows.add(poi(5.0, 41.01, 29.01));
+
+        String cursor = first.getNextCursor();
+        while (cursor != null) {
+            PoiSearchInAreaResponseDTO r = search(SortType.RATING_DESC, null, 20, cursor);
+            r.getPois().forEach(p -> seen.add(p.getPoiId()));
+            cursor = r.getNextCursor();
+        }
+
+        assertEquals(rows.size() - 1, seen.size());
+        assertEquals(seen.size(), new HashSet<>(seen).size());
+    }
+
+    private List<PoiSummary> pagesByOffset(SortType sort, int limit) {
+        List<PoiSummary> all = new ArrayList<>();
+        for (int page = 0; ; page++) {
+            PoiSearchInAreaResponseDTO r = search(sort, page, limit, null);
+            if (r.getPois().isEmpty()) return all;
+            assertEquals(rows.size(), r.getCount());
+            r.getPois().forEach(p -> all.add(new PoiSummary(p.getPoiId(), p.getName(), p.getCategory(),
+                    p.getLatitude(), p.getLongitude(), p.getRating(), p.getPriceLevel(), p.getExternalId())));
+        }
+    }
+
+    private List<UUID> pagesByCursor(SortType sort, int limit) {
+        List<UUID> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            PoiSearchInAreaResponseDTO r = search(sort, null, limit, cursor);
+            r.getPois().forEach(p -> all.add(p.getPoiId()));
+            cursor = r.getNextCursor();
+            assertTrue(all.size() <= rows.size(), "cursor pages repeat rows");
+        } while (cursor != null);
+        return all;
+    }
+
+    private PoiSearchInAreaResponseDTO search(SortType sort, Integer page, int limit, String cursor) {
+        return service.searchInArea(PoiSearchInAreaRequestDTO.builder()
+                .selectionType(SelectionType.BBOX)
+                .bbox(BBOX)
+                .sort(sort)
+                .page(page)
+                .limit(limit)
+                .cursor(cursor)
+                .build());
+    }
+
+    private static PoiSummary poi(Double rating, double lat, double lng) {
+        return new PoiSummary(UUID.randomUUID(), "p", "cafe", lat, lng, rating, null, null);
+    }
+}
@@ -0,0 +1,181 @@
+package com.vacanza.backend.spatial;
+
+import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO.LatLng;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * GeoPolygon answers through its raster; it must give the plain even-odd ray cast's answer everywhere,
+ * including on edges and vertices (where the half-open ray cast decides, not the raster).
+ */
+class GeoPolygonTest {
+
+    // (lat, lng) pairs; x = lng, y = lat
+
+    // L-shape, notch in the north-east quarter
+    private static final double[][] L_SHAPE = {{0, 0}, {2, 0}, {2, 1}, {1, 1}, {1, 2}, {0, 2}};
+
+    // comb with three teeth: deeply concave, many edges per raster row
+    private static final double[][] COMB = {
+            {0, 0}, {3, 0}, {3, 1}, {1, 1}, {1, 2}, {3, 2}, {3, 3}, {1, 3}, {1, 4}, {3, 4}, {3, 5}, {0, 5}
+    };
+
+    // sliver along the diagonal, far narrower than a raster cell
+    private static final double[][] SLIVER = {{0, 0}, {10, 10}, {10, 10.001}};
+
+    // a few metres across
+    private static final double[][] TINY = {{41.0, 29.0}, {41.0, 29.00002}, {41.00003, 29.00001}};
+
+    @Test
+    void concaveShapes() {
+        GeoPolygon l = polygon(L_SHAPE);
+        assertTrue(l.contains(0.5, 0.5));
+        assertTrue(l.contains(1.5, 0.5));
+        assertTrue(l.contains(0.5, 1.5));
+        assertFalse(l.contains(1.5, 1.5));
+
+        GeoPolygon comb = polygon(COMB);
+        assertTrue(comb.contains(0.5, 1.5));
+        assertTrue(comb.contains(2.0, 0.5));
+        assertFalse(comb.contains(2.0, 1.5));
+        assertTrue(comb.contains(2.0, 2.5));
+        assertFalse(comb.contains(2.0, 3.5));
+        assertTrue(comb.contains(2.0, 4.5));
+    }
+
+    @Test
+    void thinAndTinyPolygons() {
+        GeoPolygon sliver = polygon(SLIVER);
+        assertTrue(sliver.contains(5.0, 5.0003));
+        assertFalse(sliver.contains(5.0, 5.01));
+        assertFalse(sliver.contains(5.0, 4.9999));
+
+        GeoPolygon tiny = polygon(TINY);
+        assertTrue(tiny.contains(41.00001, 29.00001));
+        assertFalse(tiny.contains(41.00001, 29.0));
+        assertFalse(tiny.contains(41.0001, 29.00001));
+    }
+
+    @Test
+    void openAndClosedRingsAgree() {
+        for (double[][] shape : List.of(L_SHAPE, COMB, SLIVER, TINY)) {
+            GeoPolygon open = polygon(shape);
+            GeoPolygon closed = polygon(closed(shape));
+            assertEquals(open.bbox(), closed.bbox());
+
+            Random rnd = new Random(1);
+            for (double[] p : samples(shape, rnd, 2_000)) {
+                assertEquals(open.contains(p[0], p[1]), closed.contains(p[0], p[1]), p[0] + "," + p[1]);
+            }
+        }
+    }
+
+    @Test
+    void edgesAndVerticesFollowTheRayCast() {
+        for (double[][] shape : List.of(L_SHAPE, COMB, SLIVER, TINY)) {
+            GeoPolygon polygon = polygon(shape);
+            for (int i = 0; i < shape.length; i++) {
+                double[] a = shape[i];
+                double[] b = shape[(i + 1) % shape.length];
+                assertAgrees(polygon, shape, a[0], a[1]);
+                for (double t : new double[]{0.25, 0.5, 0.75}) {
+                    assertAgrees(polygon, shape, a[0] + t * (b[0] - a[0]), a[1] + t * (b[1] - a[1]));
+                }
+            }
+        }
+
+        // axis-aligned edges of the L: south/west edges count as inside, north/east ones as outside
+        GeoPolygon l = polygon(L_SHAPE);
+        assertTrue(l.contains(0.0, 0.5));
+        assertTrue(l.contains(0.5, 0.0));
+        assertFalse(l.contains(2.0, 0.5));
+        assertFalse(l.contains(0.5, 2.0));
+    }
+
+    @Test
+    void containsAgreesWithBruteForceRayCast() {
+        Random rnd = new Random(42);
+        List<double[][]> shapes = new ArrayList<>(List.of(L_SHAPE, COMB, SLIVER, TINY));
+        for (int i = 0; i < 20; i++) shapes.add(randomPolygon(rnd, 3 + rnd.nextInt(40)));
+
+        for (double[][] shape : shapes) {
+            GeoPolygon polygon = polygon(shape);
+            for (double[] p : samples(shape, rnd, 5_000)) {
+                assertAgrees(polygon, shape, p[0], p[1]);
+            }
+        }
+    }
+
+    private static void assertAgrees(GeoPolygon polygon, double[][] shape, double lat, double lng) {
+        assertEquals(rayCast(shape, lat, lng), polygon.contains(lat, lng), lat + "," + lng);
+    }
+
+    // reference even-odd test over every edge, no raster
+    private static boolean rayCast(double[][] shape, double lat, double lng) {
+        boolean inside = false;
+        for (int i = 0, j = shape.length - 1; i < shape.length; j = i++) {
+            double yi = shape[i][0], xi = shape[i][1], yj = shape[j][0], xj = shape[j][1];
+            if ((yi > lat) != (yj > lat) && lng < (xj - xi) * (lat - yi) / (yj - yi) + xi) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    // uniform over the slightly enlarged bbox, plus points on raster cell borders
+    private static List<double[]> samples(double[][] shape, Random rnd, int count) {
+        double minLat = Double.MAX_VALUE, minLng = Double.MAX_VALUE;
+        double maxLat = -Double.MAX_VALUE, maxLng = -Double.MAX_VALUE;
+        for (double[] p : shape) {
+            minLat = Math.min(minLat, p[0]);
+            maxLat = Math.max(maxLat, p[0]);
+            minLng = Math.min(minLng, p[1]);
+            maxLng = Math.max(maxLng, p[1]);
+        }
+        double h = maxLat - minLat, w = maxLng - minLng;
+
+        List<double[]> points = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            points.add(new double[]{
+                    minLat - 0.05 * h + rnd.nextDouble() * 1.1 * h,
+                    minLng - 0.05 * w + rnd.nextDouble() * 1.1 * w
+            });
+        }
+        for (int k = 0; k <= 32; k++) {
+            points.add(new double[]{minLat + k * h / 32, minLng + rnd.nextDouble() * w});
+            points.add(new double[]{minLat + rnd.nextDouble() * h, minLng + k * w / 32});
+        }
+        return points;
+    }
+
+    // star-shaped around the centre, random radii: concave and usually spiky
+    private static double[][] randomPolygon(Random rnd, int vertices) {
+        double[][] shape = new double[vertices][];
+        for (int i = 0; i < vertices; i++) {
+            double angle = 2 * Math.PI * i / vertices;
+            double radius = 0.05 + rnd.nextDouble();
+            shape[i] = new double[]{40 + radius * Math.sin(angle), 20 + radius * Math.cos(angle)};
+        }
+        return shape;
+    }
+
+    private static double[][] closed(double[][] shape) {
+        double[][] ring = new double[shape.length + 1][];
+        System.arraycopy(shape, 0, ring, 0, shape.length);
+        ring[shape.length] = shape[0].clone();
+        return ring;
+    }
+
+    private static GeoPolygon polygon(double[][] shape) {
+        List<LatLng> points = new ArrayList<>();
+        for (double[] p : shape) points.add(new LatLng(p[0], p[1]));
+        return new GeoPolygon(points);
+    }
+}
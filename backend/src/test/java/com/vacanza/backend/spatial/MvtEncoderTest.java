@@ -0,0 +1,221 @@
+package com.vacanza.backend.spatial;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class MvtEncoderTest {
+
+    @Test
+    void handDecodedFixture() {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("name", "a");
+        properties.put("rating", 4.5);
+
+        byte[] tile = MvtEncoder.encode("pois", 4096, List.of(new MvtEncoder.PointFeature(1, 2, properties)));
+
+        byte[] expected = bytes(
+                0x1a, 0x38,                                     // Tile.layers, 56 bytes
+                0x78, 0x02,                                     //   version = 2
+                0x0a, 0x04, 'p', 'o', 'i', 's',                 //   name = "pois"
+                0x12, 0x0d,                                     //   features[0], 13 bytes
+                0x12, 0x04, 0x00, 0x00, 0x01, 0x01,             //     tags = [key 0, value 0, key 1, value 1]
+                0x18, 0x01,                                     //     type = POINT
+                0x22, 0x03, 0x09, 0x02, 0x04,                   //     geometry = MoveTo(1), +1, +2
+                0x1a, 0x04, 'n', 'a', 'm', 'e',                 //   keys[0]
+                0x1a, 0x06, 'r', 'a', 't', 'i', 'n', 'g',       //   keys[1]
+                0x22, 0x03, 0x0a, 0x01, 'a',                    //   values[0] = string "a"
+                0x22, 0x09, 0x19, 0, 0, 0, 0, 0, 0, 0x12, 0x40, //   values[1] = double 4.5
+                0x28, 0x80, 0x20                                //   extent = 4096
+        );
+        assertArrayEquals(expected, tile);
+    }
+
+    @Test
+    void decodesBackToTheFeatures() {
+        List<MvtEncoder.PointFeature> features = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Map<String, Object> properties = new LinkedHashMap<>();
+            properties.put("category", i % 2 == 0 ? "cafe" : "museum");
+            properties.put("rating", i % 3 == 0 ? null : i % 5);
+            properties.put("name", "Café " + i);
+            // buffer around the tile: coordinates outside 0..extent, negative ones zig-zag encoded
+            features.add(new MvtEncoder.PointFeature(i * 97 - 200, 4200 - i * 113, properties));
+        }
+
+        Layer layer = Layer.decode(MvtEncoder.encode("pois", 512, features));
+
+        assertEquals(2, layer.version);
+        assertEquals("pois", layer.name);
+        assertEquals(512, layer.extent);
+        assertEquals(List.of("category", "name", "rating"), layer.keys.stream().sorted().toList());
+        // dictionary-encoded: each distinct value once
+        assertEquals(layer.values.size(), layer.values.stream().distinct().count());
+        assertEquals(features.size(), layer.features.size());
+
+        for (int i = 0; i < features.size(); i++) {
+            MvtEncoder.PointFeature expected = features.get(i);
+            Layer.Feature actual = layer.features.get(i);
+            assertEquals(1, actual.type);
+            assertEquals(expected.x(), actual.x);
+            assertEquals(expected.y(), actual.y);
+
+            Map<String, Object> properties = new LinkedHashMap<>();
+            expected.properties().forEach((k, v) -> {
+                // nulls are skipped, integers become doubles
+                if (v != null) properties.put(k, v instanceof Integer n ? n.doubleValue() : v);
+            });
+            assertEquals(properties, actual.properties);
+        }
+    }
+
+    @Test
+    void emptyTileHasNoBytes() {
+        assertEquals(0, MvtEncoder.encode("pois", 4096, List.of()).length);
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] b = new byte[values.length];
+        for (int i = 0; i < values.length; i++) b[i] = (byte) values[i];
+        return b;
+    }
+
+    /**
+     * Reader for the subset of the MVT spec MvtEncoder writes.
+     */
+    private static final class Layer {
+
+        int version;
+        String name;
+        int extent;
+        final List<String> keys = new ArrayList<>();
+        final List<Object> values = new ArrayList<>();
+        final List<Feature> features = new ArrayList<>();
+
+        static final class Feature {
+            int type;
+            int x;
+            int y;
+            int[] tags;
+            final Map<String, Object> properties = new LinkedHashMap<>();
+        }
+
+        static Layer decode(byte[] tile) {
+            Reader t = new Reader(tile);
+            assertEquals(3 << 3 | 2, t.varint());
+            Reader l = t.bytes();
+            assertFalse(t.hasMore());
+
+            Layer layer = new Layer();
+            List<byte[]> rawFeatures = new ArrayList<>();
+            while (l.hasMore()) {
+                long tag = l.varint();
+                switch ((int) (tag >>> 3)) {
+                    case 15 -> layer.version = (int) l.varint();
+                    case 1 -> layer.name = l.string();
+                    case 2 -> rawFeatures.add(l.rawBytes());
+                    case 3 -> layer.keys.add(l.string());
+                    case 4 -> layer.values.add(value(l.bytes()));
+                    case 5 -> layer.extent = (int) l.varint();
+                    default -> throw new AssertionError("unexpected layer field " + (tag >>> 3));
+                }
+            }
+
+            for (byte[] raw : rawFeatures) {
+                Reader f = new Reader(raw);
+                Feature feature = new Feature();
+                while (f.hasMore()) {
+                    long tag = f.varint();
+                    switch ((int) (tag >>> 3)) {
+                        case 2 -> feature.tags = f.bytes().packed();
+                        case 3 -> feature.type = (int) f.varint();
+                        case 4 -> {
+                            int[] geometry = f.bytes().packed();
+                            assertEquals(3, geometry.length);
+                            assertEquals(1 << 3 | 1, geometry[0]); // MoveTo, count 1
+                            feature.x = unzigzag(geometry[1]);
+                            feature.y = unzigzag(geometry[2]);
+                        }
+                        default -> throw new AssertionError("unexpected feature field " + (tag >>> 3));
+                    }
+                }
+                for (int i = 0; i < feature.tags.length; i += 2) {
+                    feature.properties.put(layer.keys.get(feature.tags[i]), layer.values.get(feature.tags[i + 1]));
+                }
+                layer.features.add(feature);
+            }
+            return layer;
+        }
+
+        private static Object value(Reader v) {
+            long tag = v.varint();
+            Object value = switch ((int) tag) {
+                case 1 << 3 | 2 -> v.string();
+                case 3 << 3 | 1 -> v.fixed64();
+                default -> throw new AssertionError("unexpected value tag " + tag);
+            };
+            assertFalse(v.hasMore());
+            return value;
+        }
+
+        private static int unzigzag(int n) {
+            return (n >>> 1) ^ -(n & 1);
+        }
+    }
+
+    private static final class Reader {
+
+        private final ByteBuffer buffer;
+
+        Reader(byte[] bytes) {
+            this.buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        boolean hasMore() {
+            return buffer.hasRemaining();
+        }
+
+        long varint() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                int b = buffer.get() & 0xff;
+                value |= (long) (b & 0x7f) << shift;
+                if (b < 0x80) return value;
+            }
+        }
+
+        double fixed64() {
+            return buffer.getDouble();
+        }
+
+        byte[] rawBytes() {
+            byte[] bytes = new byte[(int) varint()];
+            buffer.get(bytes);
+            return bytes;
+        }
+
+        Reader bytes() {
+            return new Reader(rawBytes());
+        }
+
+        String string() {
+            return new String(rawBytes(), StandardCharsets.UTF_8);
+        }
+
+        int[] packed() {
+            List<Integer> values = new ArrayList<>();
+            while (hasMore()) values.add((int) varint());
+            return values.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.vacanza.backend.spatial;
+
+import com.vacanza.backend.config.PoiProperties;
+import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO.Bbox;
+import com.vacanza.backend.repo.PoiSummary;
+import com.vacanza.backend.repo.PointOfInterestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Upserts replace indexed rows instead of being skipped, and a refresh replaces the grid with the table.
+ */
+class PoiSpatialIndexTest {
+
+    private static final Bbox WORLD = new Bbox(-90.0, -180.0, 90.0, 180.0);
+
+    private final PointOfInterestRepository poiRepository = mock(PointOfInterestRepository.class);
+    private final PoiProperties properties = new PoiProperties();
+    private final PoiSpatialIndex index = new PoiSpatialIndex(poiRepository, properties);
+
+    private final UUID a = UUID.randomUUID();
+    private final UUID b = UUID.randomUUID();
+
+    @BeforeEach
+    void enable() {
+        properties.getIndex().setEnabled(true);
+    }
+
+    @Test
+    void upsertMovesAnIndexedPoi() {
+        when(poiRepository.findAllSummaries()).thenReturn(List.of(poi(a, "cafe", 41.0, 29.0), poi(b, "cafe", 41.0, 29.0)));
+        index.load();
+
+        index.upsertAll(List.of(poi(a, "museum", 38.0, 27.0)));
+
+        assertEquals(2, index.size());
+        assertTrue(index.query(new Bbox(40.9, 28.9, 41.1, 29.1), List.of()).stream().noneMatch(p -> p.poiId().equals(a)));
+        assertEquals(List.of(b), ids(index.query(new Bbox(40.9, 28.9, 41.1, 29.1), List.of("cafe"))));
+        assertEquals(List.of(a), ids(index.query(new Bbox(37.9, 26.9, 38.1, 27.1), List.of("museum"))));
+    }
+
+    @Test
+    void refreshDropsRowsNoLongerInTheTable() {
+        when(poiRepository.findAllSummaries()).thenReturn(List.of(poi(a, "cafe", 41.0, 29.0), poi(b, "cafe", 41.0, 29.0)));
+        index.load();
+
+        when(poiRepository.findAllSummaries()).thenReturn(List.of(poi(b, "cafe", 41.0, 29.0)));
+        index.refresh();
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(b), ids(index.query(WORLD, List.of())));
+    }
+
+    @Test
+    void failedRefreshKeepsTheCurrentGrid() {
+        when(poiRepository.findAllSummaries()).thenReturn(List.of(poi(a, "cafe", 41.0, 29.0)));
+        index.load();
+
+        when(poiRepository.findAllSummaries()).thenThrow(new IllegalStateException("db down"));
+        index.refresh();
+
+        assertEquals(List.of(a), ids(index.query(WORLD, List.of("cafe"))));
+        index.upsertAll(List.of(poi(b, "cafe", 41.0, 29.0)));
+        assertEquals(2, index.size());
+    }
+
+    private static PoiSummary poi(UUID id, String category, double lat, double lng) {
+        return new PoiSummary(id, "p", category, lat, lng, null, null, id.toString());
+    }
+
+    private static List<UUID> ids(List<PoiSummary> pois) {
+        return pois.stream().map(PoiSummary::poiId).toList();
+    }
+}
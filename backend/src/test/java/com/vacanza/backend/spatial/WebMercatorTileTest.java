@@ -0,0 +1,79 @@
+package com.vacanza.backend.spatial;
+
+import com.vacanza.backend.dto.request.PoiSearchInAreaRequestDTO.Bbox;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WebMercatorTileTest {
+
+    private static final double EPS = 1e-9;
+    private static final double MAX_LAT = 85.0511287798;
+
+    @Test
+    void zoomZeroIsTheWholeMercatorWorld() {
+        assertBbox(new WebMercatorTile(0, 0, 0).bbox(), -MAX_LAT, -180, MAX_LAT, 180);
+
+        assertEquals(new WebMercatorTile(0, 0, 0), WebMercatorTile.containing(0, 0, 0));
+        assertEquals(new WebMercatorTile(0, 0, 0), WebMercatorTile.containing(90, 180, 0));
+        assertEquals(new WebMercatorTile(0, 0, 0), WebMercatorTile.containing(-90, -180, 0));
+    }
+
+    @Test
+    void zoomOneQuartersWithYFromTheNorth() {
+        assertBbox(new WebMercatorTile(1, 0, 0).bbox(), 0, -180, MAX_LAT, 0);
+        assertBbox(new WebMercatorTile(1, 1, 0).bbox(), 0, 0, MAX_LAT, 180);
+        assertBbox(new WebMercatorTile(1, 0, 1).bbox(), -MAX_LAT, -180, 0, 0);
+        assertBbox(new WebMercatorTile(1, 1, 1).bbox(), -MAX_LAT, 0, 0, 180);
+
+        // Istanbul: north-east, Buenos Aires: south-west
+        assertEquals(new WebMercatorTile(1, 1, 0), WebMercatorTile.containing(41.0, 29.0, 1));
+        assertEquals(new WebMercatorTile(1, 0, 1), WebMercatorTile.containing(-34.6, -58.4, 1));
+    }
+
+    @Test
+    void maxZoomTiles() {
+        int z = WebMercatorTile.MAX_ZOOM;
+        int n = 1 << z;
+
+        WebMercatorTile tile = WebMercatorTile.containing(41.008238, 28.978359, z);
+        Bbox b = tile.bbox();
+        assertTrue(tile.isValid());
+        assertTrue(b.getMinLat() <= 41.008238 && 41.008238 < b.getMaxLat(), b.toString());
+        assertTrue(b.getMinLng() <= 28.978359 && 28.978359 < b.getMaxLng(), b.toString());
+        assertEquals(360.0 / n, b.getMaxLng() - b.getMinLng(), EPS);
+
+        // corners of the world
+        Bbox northWest = new WebMercatorTile(z, 0, 0).bbox();
+        assertEquals(MAX_LAT, northWest.getMaxLat(), EPS);
+        assertEquals(-180, northWest.getMinLng(), EPS);
+        assertEquals(-180 + 360.0 / n, northWest.getMaxLng(), EPS);
+        assertEquals(180, new WebMercatorTile(z, n - 1, n - 1).bbox().getMaxLng(), EPS);
+        assertEquals(-MAX_LAT, new WebMercatorTile(z, n - 1, n - 1).bbox().getMinLat(), EPS);
+        assertEquals(new WebMercatorTile(z, n - 1, n - 1), WebMercatorTile.containing(-90, 180, z));
+
+        assertFalse(new WebMercatorTile(z, n, 0).isValid());
+        assertFalse(new WebMercatorTile(z + 1, 0, 0).isValid());
+        assertFalse(new WebMercatorTile(z, 0, -1).isValid());
+    }
+
+    @Test
+    void projectsCornersToTheExtent() {
+        WebMercatorTile tile = new WebMercatorTile(10, 594, 383);
+        Bbox b = tile.bbox();
+
+        assertArrayEquals(new int[]{0, 0}, tile.project(b.getMaxLat(), b.getMinLng(), 4096));
+        assertArrayEquals(new int[]{4096, 4096}, tile.project(b.getMinLat(), b.getMaxLng(), 4096));
+        assertEquals(tile, WebMercatorTile.containing((b.getMinLat() + b.getMaxLat()) / 2, (b.getMinLng() + b.getMaxLng()) / 2, 10));
+    }
+
+    private static void assertBbox(Bbox b, double minLat, double minLng, double maxLat, double maxLng) {
+        assertEquals(minLat, b.getMinLat(), EPS, "minLat");
+        assertEquals(minLng, b.getMinLng(), EPS, "minLng");
+        assertEquals(maxLat, b.getMaxLat(), EPS, "maxLat");
+        assertEquals(maxLng, b.getMaxLng(), EPS, "maxLng");
+    }
+}